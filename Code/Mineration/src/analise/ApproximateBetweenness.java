@@ -0,0 +1,324 @@
+package analise;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import estrutura.AbstractGraph;
+import estrutura.GraphTraversal;
+import estrutura.IntDoubleConsumer;
+
+/**
+ * Betweenness aproximada por amostragem de caminhos mínimos (Riondato e Kornaropoulos, 2014).
+ *
+ * Cada amostra sorteia um par (s, t) com s != t, faz uma BFS a partir de s que para na camada de t e
+ * sorteia um dos caminhos mínimos s -> t de trás para frente (o predecessor p de w é escolhido com
+ * probabilidade sigma[p] / sigma[w]); os vértices internos do caminho ganham 1 / r. Com
+ * r = (c / ε²) (⌊log2(VD - 2)⌋ + 1 + ln(1 / δ)) amostras, onde VD é o diâmetro em vértices,
+ * toda betweenness normalizada (dividida por n(n - 1)) tem erro absoluto de no máximo ε com
+ * probabilidade de pelo menos 1 - δ. O número de amostras não depende de n.
+ *
+ * Os valores devolvidos estão na mesma escala de {@link BrandesBetweenness} (já multiplicados por n(n - 1)),
+ * então o erro garantido nessa escala é ε · n(n - 1). As amostras são divididas entre as threads como em
+ * {@link BrandesBetweenness}, e cada amostra usa um gerador derivado da semente e do seu índice: o resultado
+ * é o mesmo para a mesma semente, qualquer que seja o número de threads (a menos da ordem das somas).
+ */
+public final class ApproximateBetweenness {
+    /** Constante universal do limitante de amostras; 0,5 é o valor sugerido pelos autores. */
+    private static final double C = 0.5;
+    private static final long DEFAULT_SEED = 42L;
+    private static final int BLOCKS_PER_THREAD = 8;
+
+    private ApproximateBetweenness() {
+    }
+
+    /** Estimativa com os parâmetros de qualidade informados e o resumo da execução. */
+    public static final class Result {
+        private final double[] values;
+        private final long samples;
+        private final int vertexDiameterBound;
+        private final double epsilon;
+        private final double delta;
+
+        Result(double[] values, long samples, int vertexDiameterBound, double epsilon, double delta) {
+            this.values = values;
+            this.samples = samples;
+            this.vertexDiameterBound = vertexDiameterBound;
+            this.epsilon = epsilon;
+            this.delta = delta;
+        }
+
+        /** Betweenness estimada de cada vértice, na escala da versão exata. */
+        public double[] getValues() {
+            return values;
+        }
+
+        /** Quantidade de pares (s, t) sorteados. */
+        public long getSamples() {
+            return samples;
+        }
+
+        /** Limite superior usado para o diâmetro em vértices (VD). */
+        public int getVertexDiameterBound() {
+            return vertexDiameterBound;
+        }
+
+        public double getEpsilon() {
+            return epsilon;
+        }
+
+        public double getDelta() {
+            return delta;
+        }
+    }
+
+    public static Result estimate(AbstractGraph graph, double epsilon, double delta) {
+        return estimate(graph, epsilon, delta, DEFAULT_SEED, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param epsilon erro absoluto máximo na betweenness normalizada, em (0, 1)
+     * @param delta   probabilidade de o erro passar de epsilon, em (0, 1)
+     */
+    public static Result estimate(AbstractGraph graph, double epsilon, double delta, long seed, ForkJoinPool pool) {
+        if (!(epsilon > 0 && epsilon < 1)) throw new IllegalArgumentException("Epsilon inválido: " + epsilon);
+        if (!(delta > 0 && delta < 1)) throw new IllegalArgumentException("Delta inválido: " + delta);
+
+        int n = graph.getVertexCount();
+        int diameter = vertexDiameterBound(graph);
+        long samples = sampleSize(diameter, epsilon, delta);
+        if (n < 3 || diameter < 3) {
+            // Nenhum caminho mínimo tem vértice interno: a betweenness é zero para todos
+            return new Result(new double[n], 0, diameter, epsilon, delta);
+        }
+
+        double increment = (double) n * (n - 1) / samples;
+        WorkspacePool<Workspace> workspaces = new WorkspacePool<>(() -> new Workspace(graph, increment));
+        long grain = Math.max(1, samples / ((long) pool.getParallelism() * BLOCKS_PER_THREAD));
+        pool.invoke(new SampleRange(workspaces, seed, 0, samples, grain));
+
+        double[] cb = new double[n];
+        for (Workspace w : workspaces.all()) {
+            for (int v = 0; v < n; v++) cb[v] += w.accumulator[v];
+        }
+        return new Result(cb, samples, diameter, epsilon, delta);
+    }
+
+    /** r = ⌈(c / ε²) (⌊log2(VD - 2)⌋ + 1 + ln(1 / δ))⌉; com VD < 3 o termo do diâmetro é zero. */
+    public static long sampleSize(int vertexDiameter, double epsilon, double delta) {
+        int logTerm = vertexDiameter < 3 ? 0 : 31 - Integer.numberOfLeadingZeros(Math.max(1, vertexDiameter - 2)) + 1;
+        return (long) Math.ceil(C / (epsilon * epsilon) * (logTerm + Math.log(1.0 / delta)));
+    }
+
+    /**
+     * Limite superior para o nº de vértices do maior caminho mínimo, em tempo O(n + m).
+     *
+     * Um caminho mínimo entre dois vértices da mesma componente fortemente conexa não sai dela, então
+     * dentro da componente C ele tem no máximo ecc_entrada(x) + ecc_saída(x) arestas, para um x qualquer de C
+     * (uma BFS em cada sentido restrita a C). Um caminho mínimo qualquer atravessa uma cadeia de componentes
+     * do grafo condensado; o limite é a cadeia mais longa somando esses valores e as arestas entre componentes.
+     */
+    public static int vertexDiameterBound(AbstractGraph graph) {
+        int n = graph.getVertexCount();
+        if (n <= 1) return n;
+
+        int[] component = new GraphTraversal(graph).stronglyConnectedComponents();
+        int k = GraphTraversal.countComponents(component);
+        int[] sizes = GraphTraversal.componentSizes(component);
+
+        // Vértices agrupados por componente (counting sort pelo rótulo)
+        int[] start = new int[k + 1];
+        for (int v = 0; v < n; v++) start[component[v] + 1]++;
+        for (int c = 0; c < k; c++) start[c + 1] += start[c];
+        int[] byComponent = new int[n];
+        int[] cursor = Arrays.copyOf(start, k);
+        for (int v = 0; v < n; v++) byComponent[cursor[component[v]]++] = v;
+
+        RestrictedBfs bfs = new RestrictedBfs(graph, component);
+        // Os rótulos de Tarjan saem em ordem topológica reversa: as arestas entre componentes vão para rótulos
+        // menores, então ao processar c em ordem crescente os sucessores já estão calculados
+        int[] longest = new int[k];
+        int[] best = new int[1];
+        int diameter = 0;
+        for (int c = 0; c < k; c++) {
+            int label = c;
+            int first = byComponent[start[c]];
+            int inner = sizes[c] == 1 ? 0
+                    : bfs.eccentricity(first, true) + bfs.eccentricity(first, false);
+            best[0] = 0;
+            for (int i = start[c]; i < start[c + 1]; i++) {
+                graph.forEachSuccessor(byComponent[i], (v, w) -> {
+                    int d = component[v];
+                    if (d != label) best[0] = Math.max(best[0], 1 + longest[d]);
+                });
+            }
+            longest[c] = inner + best[0];
+            diameter = Math.max(diameter, longest[c]);
+        }
+        return Math.min(n, diameter + 1);
+    }
+
+    /** BFS que só anda por vértices da mesma componente; reaproveita os vetores entre as componentes. */
+    private static final class RestrictedBfs {
+        private final AbstractGraph graph;
+        private final int[] component;
+        private final int[] dist;
+        private final int[] queue;
+        private int tail;
+        private int nextDist;
+        private int label;
+        private final IntDoubleConsumer visit;
+
+        RestrictedBfs(AbstractGraph graph, int[] component) {
+            this.graph = graph;
+            this.component = component;
+            this.dist = new int[graph.getVertexCount()];
+            this.queue = new int[graph.getVertexCount()];
+            Arrays.fill(dist, -1);
+            this.visit = (v, w) -> {
+                if (dist[v] < 0 && component[v] == label) {
+                    dist[v] = nextDist;
+                    queue[tail++] = v;
+                }
+            };
+        }
+
+        int eccentricity(int source, boolean forward) {
+            label = component[source];
+            dist[source] = 0;
+            queue[0] = source;
+            tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int u = queue[head];
+                nextDist = dist[u] + 1;
+                if (forward) graph.forEachSuccessor(u, visit);
+                else graph.forEachPredecessor(u, visit);
+            }
+            int ecc = dist[queue[tail - 1]];
+            for (int i = 0; i < tail; i++) dist[queue[i]] = -1;
+            return ecc;
+        }
+    }
+
+    private static final class SampleRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WorkspacePool<Workspace> workspaces;
+        private final long seed;
+        private final long from;
+        private final long to;
+        private final long grain;
+
+        SampleRange(WorkspacePool<Workspace> workspaces, long seed, long from, long to, long grain) {
+            this.workspaces = workspaces;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                Workspace w = workspaces.take();
+                try {
+                    for (long i = from; i < to; i++) {
+                        w.sample(new SplittableRandom(seed ^ (i * 0x9E3779B97F4A7C15L)));
+                    }
+                } finally {
+                    workspaces.give(w);
+                }
+                return;
+            }
+            long mid = (from + to) >>> 1;
+            invokeAll(new SampleRange(workspaces, seed, from, mid, grain),
+                    new SampleRange(workspaces, seed, mid, to, grain));
+        }
+    }
+
+    /** Estado de um bloco de amostras em execução; os consumidores da BFS e do sorteio de predecessores são criados uma vez. */
+    private static final class Workspace {
+        final AbstractGraph graph;
+        final int n;
+        final double increment;
+        final double[] accumulator;
+        final int[] dist;
+        final double[] sigma;
+        final int[] order;
+        int tail;
+
+        private int current;
+        private int nextDist;
+        private int layer;
+        private double remaining;
+        private int chosen;
+        private int lastCandidate;
+
+        private final IntDoubleConsumer discover;
+        private final IntDoubleConsumer pick;
+
+        Workspace(AbstractGraph graph, double increment) {
+            this.graph = graph;
+            this.n = graph.getVertexCount();
+            this.increment = increment;
+            this.accumulator = new double[n];
+            this.dist = new int[n];
+            this.sigma = new double[n];
+            this.order = new int[n];
+            Arrays.fill(dist, -1);
+
+            this.discover = (w, weight) -> {
+                if (dist[w] < 0) {
+                    dist[w] = nextDist;
+                    order[tail++] = w;
+                }
+                if (dist[w] == nextDist) sigma[w] += sigma[current];
+            };
+            // Escolhe p com probabilidade sigma[p] / sigma[w] entre os predecessores na camada anterior
+            this.pick = (p, weight) -> {
+                if (chosen >= 0 || dist[p] != layer) return;
+                lastCandidate = p;
+                remaining -= sigma[p];
+                if (remaining < 0) chosen = p;
+            };
+        }
+
+        void sample(SplittableRandom random) {
+            int s = random.nextInt(n);
+            int t = random.nextInt(n - 1);
+            if (t >= s) t++;
+
+            dist[s] = 0;
+            sigma[s] = 1.0;
+            order[0] = s;
+            tail = 1;
+            for (int head = 0; head < tail; head++) {
+                current = order[head];
+                // As camadas antes da de t já foram expandidas: sigma de t e de seus predecessores está completo
+                if (dist[t] >= 0 && dist[current] >= dist[t]) break;
+                nextDist = dist[current] + 1;
+                graph.forEachSuccessor(current, discover);
+            }
+
+            if (dist[t] > 1) {
+                int w = t;
+                while (dist[w] > 1) {
+                    layer = dist[w] - 1;
+                    remaining = random.nextDouble() * sigma[w];
+                    chosen = -1;
+                    graph.forEachPredecessor(w, pick);
+                    // Arredondamento pode deixar sobra: fica o último candidato visto
+                    w = chosen >= 0 ? chosen : lastCandidate;
+                    accumulator[w] += increment;
+                }
+            }
+
+            for (int i = 0; i < tail; i++) {
+                int v = order[i];
+                dist[v] = -1;
+                sigma[v] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package analise;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import estrutura.AbstractGraph;
+import estrutura.IntDoubleConsumer;
+
+/**
+ * Betweenness (Brandes, grafo não ponderado) com as fontes divididas entre as threads de um {@link ForkJoinPool}.
+ *
+ * Cada bloco de fontes pega emprestado um espaço de trabalho (dist, sigma, delta, fila) de um
+ * {@link WorkspacePool}, o reaproveita em todas as suas fontes e acumula a parcela num double[] próprio;
+ * há no máximo um espaço por thread ativa e os acumuladores são somados no final. A fase de
+ * retorno percorre os sucessores (w com dist[w] = dist[v] + 1) em vez de guardar listas de predecessores,
+ * então nenhuma estrutura é alocada por fonte. Os valores são os mesmos da versão sequencial, a menos da
+ * ordem das somas em ponto flutuante.
+ */
+public final class BrandesBetweenness {
+    /** Nº de blocos de fontes por thread: blocos menores equilibram melhor fontes de custo desigual. */
+    private static final int BLOCKS_PER_THREAD = 8;
+
+    private BrandesBetweenness() {
+    }
+
+    public static double[] compute(AbstractGraph graph) {
+        return compute(graph, ForkJoinPool.commonPool());
+    }
+
+    public static double[] compute(AbstractGraph graph, ForkJoinPool pool) {
+        int n = graph.getVertexCount();
+        if (n == 0) return new double[0];
+
+        WorkspacePool<Workspace> workspaces = new WorkspacePool<>(() -> new Workspace(graph));
+        int grain = Math.max(1, n / (pool.getParallelism() * BLOCKS_PER_THREAD));
+        pool.invoke(new SourceRange(workspaces, 0, n, grain));
+
+        double[] cb = new double[n];
+        for (Workspace w : workspaces.all()) {
+            for (int v = 0; v < n; v++) cb[v] += w.accumulator[v];
+        }
+        return cb;
+    }
+
+    private static final class SourceRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WorkspacePool<Workspace> workspaces;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        SourceRange(WorkspacePool<Workspace> workspaces, int from, int to, int grain) {
+            this.workspaces = workspaces;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                Workspace w = workspaces.take();
+                try {
+                    for (int s = from; s < to; s++) w.accumulate(s);
+                } finally {
+                    workspaces.give(w);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SourceRange(workspaces, from, mid, grain), new SourceRange(workspaces, mid, to, grain));
+        }
+    }
+
+    /** Estado de um bloco de fontes em execução; os consumidores das duas fases são criados uma vez, e não a cada vértice visitado. */
+    private static final class Workspace {
+        final AbstractGraph graph;
+        final double[] accumulator;
+        final int[] dist;
+        final double[] sigma;
+        final double[] delta;
+        final int[] order; // fila da BFS; lida de trás para frente é a pilha de Brandes
+        int tail;
+
+        private int current;
+        private int nextDist;
+        private double pulled;
+
+        private final IntDoubleConsumer discover;
+        private final IntDoubleConsumer pull;
+
+        Workspace(AbstractGraph graph) {
+            int n = graph.getVertexCount();
+            this.graph = graph;
+            this.accumulator = new double[n];
+            this.dist = new int[n];
+            this.sigma = new double[n];
+            this.delta = new double[n];
+            this.order = new int[n];
+            Arrays.fill(dist, -1);
+
+            this.discover = (w, weight) -> {
+                if (dist[w] < 0) {
+                    dist[w] = nextDist;
+                    order[tail++] = w;
+                }
+                if (dist[w] == nextDist) sigma[w] += sigma[current];
+            };
+            this.pull = (w, weight) -> {
+                if (dist[w] == nextDist) pulled += (1.0 + delta[w]) / sigma[w];
+            };
+        }
+
+        void accumulate(int s) {
+            dist[s] = 0;
+            sigma[s] = 1.0;
+            order[0] = s;
+            tail = 1;
+            for (int head = 0; head < tail; head++) {
+                current = order[head];
+                nextDist = dist[current] + 1;
+                graph.forEachSuccessor(current, discover);
+            }
+
+            // delta[v] = sigma[v] * soma sobre os sucessores w na camada seguinte de (1 + delta[w]) / sigma[w]
+            for (int i = tail - 1; i >= 0; i--) {
+                int v = order[i];
+                nextDist = dist[v] + 1;
+                pulled = 0;
+                graph.forEachSuccessor(v, pull);
+                delta[v] = sigma[v] * pulled;
+                if (v != s) accumulator[v] += delta[v];
+            }
+
+            // Limpa só o que foi tocado por esta fonte
+            for (int i = 0; i < tail; i++) {
+                int v = order[i];
+                dist[v] = -1;
+                sigma[v] = 0;
+                delta[v] = 0;
+            }
+        }
+    }
+}
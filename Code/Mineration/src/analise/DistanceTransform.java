@@ -0,0 +1,44 @@
+package analise;
+
+/**
+ * Converte a força de uma interação (peso da aresta, ex.: merge = 5, review = 4 em GraphBuilder.Weights)
+ * em comprimento para os caminhos mínimos ponderados: quanto mais forte a ligação, mais curta a aresta.
+ * Os comprimentos são sempre positivos, então o Dijkstra e a contagem de caminhos mínimos valem.
+ */
+public enum DistanceTransform {
+    /** Comprimento 1 / w. */
+    INVERSE {
+        @Override
+        public double length(double weight, double maxWeight) {
+            return 1.0 / weight;
+        }
+    },
+
+    /**
+     * Comprimento -ln(w / wMax), com piso {@link #MIN_LENGTH}: tratando w / wMax como a chance de a ligação
+     * ser usada, o caminho mínimo é o de maior produto dessas chances.
+     */
+    NEGATIVE_LOG {
+        @Override
+        public double length(double weight, double maxWeight) {
+            return Math.max(MIN_LENGTH, -Math.log(weight / maxWeight));
+        }
+    },
+
+    /** Todas as arestas com comprimento 1 (mesmo resultado da BFS). */
+    HOPS {
+        @Override
+        public double length(double weight, double maxWeight) {
+            return 1.0;
+        }
+    };
+
+    /** Piso do comprimento em NEGATIVE_LOG: as arestas de peso máximo não ficam de graça. */
+    public static final double MIN_LENGTH = 1e-6;
+
+    /**
+     * @param weight    peso da aresta (positivo)
+     * @param maxWeight maior peso do grafo
+     */
+    public abstract double length(double weight, double maxWeight);
+}
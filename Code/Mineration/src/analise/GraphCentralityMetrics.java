@@ -1,14 +1,10 @@
 package analise;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Stack;
 
 import estrutura.AbstractGraph;
 
@@ -28,42 +24,9 @@ public class GraphCentralityMetrics {
     }
 
     // --- 2. Centralidade de Proximidade (Closeness) - Via BFS ---
+    // BFS de 64 fontes por vez com máscaras de bits, lotes em paralelo (MultiSourceBfs)
     public static Map<Integer, Double> calculateClosenessCentrality(AbstractGraph graph) {
-        Map<Integer, Double> closeness = new HashMap<>();
-        int n = graph.getVertexCount();
-
-        for (int s = 0; s < n; s++) {
-            double totalDist = 0;
-            int reachable = 0;
-
-            int[] dist = new int[n];
-            Arrays.fill(dist, -1);
-            Queue<Integer> queue = new LinkedList<>();
-
-            queue.add(s);
-            dist[s] = 0;
-
-            while (!queue.isEmpty()) {
-                int u = queue.poll();
-                for (int v : graph.getSuccessors(u)) {
-                    if (dist[v] < 0) {
-                        dist[v] = dist[u] + 1;
-                        totalDist += dist[v];
-                        reachable++;
-                        queue.add(v);
-                    }
-                }
-            }
-
-            if (totalDist > 0) {
-                double val = (double) reachable / totalDist;
-                val *= (double) reachable / (n - 1);
-                closeness.put(s, val);
-            } else {
-                closeness.put(s, 0.0);
-            }
-        }
-        return closeness;
+        return toMap(MultiSourceBfs.compute(graph).getCloseness());
     }
 
     // --- 3. PageRank (Método Iterativo) ---
@@ -71,105 +34,41 @@ public class GraphCentralityMetrics {
         return calculatePageRank(graph, 0.85, 20, 1e-6);
     }
 
+    // Vetores primitivos, pull pela in-adjacência em paralelo e massa dangling somada uma vez por iteração (PageRank)
     public static Map<Integer, Double> calculatePageRank(AbstractGraph graph, double damping, int maxIter, double tol) {
-        int n = graph.getVertexCount();
-        Map<Integer, Double> pr = new HashMap<>();
-        if (n == 0)
-            return pr;
+        return toMap(PageRank.compute(graph, damping, maxIter, tol).getRanks());
+    }
 
-        for (int i = 0; i < n; i++)
-            pr.put(i, 1.0 / n);
+    // --- 4. Intermediação (Betweenness) - Algoritmo de Brandes ---
+    // Fontes processadas em paralelo, com espaço de trabalho e acumulador por thread (BrandesBetweenness)
+    public static Map<Integer, Double> calculateBetweennessCentrality(AbstractGraph graph) {
+        return toMap(BrandesBetweenness.compute(graph));
+    }
 
-        double[] outWeightSum = new double[n];
-        for (int i = 0; i < n; i++) {
-            for (int v : graph.getSuccessors(i)) {
-                outWeightSum[i] += graph.getEdgeWeight(i, v);
-            }
-        }
+    // --- 4b. Intermediação aproximada - amostragem de Riondato-Kornaropoulos ---
+    // Erro absoluto <= epsilon na betweenness normalizada com probabilidade >= 1 - delta;
+    // o resultado informa quantas amostras foram usadas (ApproximateBetweenness)
+    public static ApproximateBetweenness.Result calculateApproximateBetweennessCentrality(AbstractGraph graph,
+            double epsilon, double delta) {
+        return ApproximateBetweenness.estimate(graph, epsilon, delta);
+    }
 
-        for (int iter = 0; iter < maxIter; iter++) {
-            Map<Integer, Double> newPr = new HashMap<>();
-            double baseVal = (1.0 - damping) / n;
-            for (int i = 0; i < n; i++)
-                newPr.put(i, baseVal);
-
-            for (int i = 0; i < n; i++) {
-                double currentPr = pr.get(i);
-
-                if (outWeightSum[i] == 0) {
-                    double share = (damping * currentPr) / n;
-                    for (int j = 0; j < n; j++)
-                        newPr.put(j, newPr.get(j) + share);
-                } else {
-                    for (int v : graph.getSuccessors(i)) {
-                        double weight = graph.getEdgeWeight(i, v);
-                        double share = (damping * currentPr * weight) / outWeightSum[i];
-                        newPr.put(v, newPr.get(v) + share);
-                    }
-                }
-            }
-
-            double err = 0;
-            for (int i = 0; i < n; i++)
-                err += Math.abs(newPr.get(i) - pr.get(i));
-            pr = newPr;
-            if (err < tol)
-                break;
-        }
-        return pr;
+    // --- 5. Versões ponderadas - Dijkstra com heap indexado (WeightedCentrality) ---
+    // O peso da interação vira comprimento pelo DistanceTransform (ex.: 1/w): ligações fortes ficam mais curtas
+    public static Map<Integer, Double> calculateWeightedClosenessCentrality(AbstractGraph graph,
+            DistanceTransform transform) {
+        return toMap(WeightedCentrality.closeness(graph, transform));
     }
 
-    // --- 4. Intermediação (Betweenness) - Algoritmo de Brandes ---
-    public static Map<Integer, Double> calculateBetweennessCentrality(AbstractGraph graph) {
-        int n = graph.getVertexCount();
-        double[] cb = new double[n];
-
-        for (int s = 0; s < n; s++) {
-            Stack<Integer> stack = new Stack<>();
-            List<List<Integer>> P = new ArrayList<>();
-            for (int i = 0; i < n; i++)
-                P.add(new ArrayList<>());
-
-            double[] sigma = new double[n];
-            int[] dist = new int[n];
-            Arrays.fill(dist, -1);
-
-            sigma[s] = 1.0;
-            dist[s] = 0;
-            Queue<Integer> queue = new LinkedList<>();
-            queue.add(s);
-
-            while (!queue.isEmpty()) {
-                int v = queue.poll();
-                stack.push(v);
-
-                for (int w : graph.getSuccessors(v)) {
-                    if (dist[w] < 0) {
-                        dist[w] = dist[v] + 1;
-                        queue.add(w);
-                    }
-                    if (dist[w] == dist[v] + 1) {
-                        sigma[w] += sigma[v];
-                        P.get(w).add(v);
-                    }
-                }
-            }
-
-            double[] delta = new double[n];
-            while (!stack.isEmpty()) {
-                int w = stack.pop();
-                for (int v : P.get(w)) {
-                    delta[v] += (sigma[v] / sigma[w]) * (1.0 + delta[w]);
-                }
-                if (w != s) {
-                    cb[w] += delta[w];
-                }
-            }
-        }
+    public static Map<Integer, Double> calculateWeightedBetweennessCentrality(AbstractGraph graph,
+            DistanceTransform transform) {
+        return toMap(WeightedCentrality.betweenness(graph, transform));
+    }
 
+    public static Map<Integer, Double> toMap(double[] values) {
         Map<Integer, Double> result = new HashMap<>();
-        for (int i = 0; i < n; i++)
-            result.put(i, cb[i]);
+        for (int i = 0; i < values.length; i++)
+            result.put(i, values[i]);
         return result;
     }
 
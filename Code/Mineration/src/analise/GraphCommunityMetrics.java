@@ -1,27 +1,13 @@
 package analise;
 
 import estrutura.AbstractGraph;
-import java.util.*;
+import estrutura.IntDoubleConsumer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class GraphCommunityMetrics {
 
-    private static class EdgeKey {
-        final int u, v;
-        public EdgeKey(int u, int v) {
-            this.u = Math.min(u, v);
-            this.v = Math.max(u, v);
-        }
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof EdgeKey)) return false;
-            EdgeKey edgeKey = (EdgeKey) o;
-            return u == edgeKey.u && v == edgeKey.v;
-        }
-        @Override
-        public int hashCode() { return Objects.hash(u, v); }
-    }
-
     /**
      * 1. Algoritmo de Girvan-Newman para Detecção de Comunidades.
      * Remove iterativamente a aresta com maior Betweenness Centrality para quebrar o grafo em clusters.
@@ -30,40 +16,29 @@ public class GraphCommunityMetrics {
      * @return Lista de Comunidades (onde cada comunidade é uma Lista de IDs de vértices)
      */
     public static List<List<Integer>> detectCommunitiesGirvanNewman(AbstractGraph originalGraph, int maxSplits) {
-        int n = originalGraph.getVertexCount();
-
-        List<Set<Integer>> adj = new ArrayList<>();
-        for (int i = 0; i < n; i++) adj.add(new HashSet<>());
-
-        for (int u = 0; u < n; u++) {
-            for (int v : originalGraph.getSuccessors(u)) {
-                adj.get(u).add(v);
-                adj.get(v).add(u);
-            }
-        }
+        UndirectedEdges adj = new UndirectedEdges(originalGraph);
+        double[] edgeBetweenness = new double[adj.edgeCount];
+        EdgeBetweennessWorkspace workspace = new EdgeBetweennessWorkspace(adj.n);
 
         for (int split = 0; split < maxSplits; split++) {
-            Map<EdgeKey, Double> edgeBetweenness = calculateEdgeBetweenness(adj, n);
-
-            if (edgeBetweenness.isEmpty()) break;
+            calculateEdgeBetweenness(adj, workspace, edgeBetweenness);
 
-            EdgeKey maxEdge = null;
+            // Empate: fica a aresta de menor id, isto é, o menor par (u, v) com u < v
+            int maxEdge = -1;
             double maxVal = -1.0;
-
-            for (Map.Entry<EdgeKey, Double> entry : edgeBetweenness.entrySet()) {
-                if (entry.getValue() > maxVal) {
-                    maxVal = entry.getValue();
-                    maxEdge = entry.getKey();
+            for (int e = 0; e < adj.edgeCount; e++) {
+                if (!adj.removed[e] && edgeBetweenness[e] > maxVal) {
+                    maxVal = edgeBetweenness[e];
+                    maxEdge = e;
                 }
             }
 
-            if (maxEdge == null) break;
+            if (maxEdge < 0) break;
 
-            adj.get(maxEdge.u).remove(maxEdge.v);
-            adj.get(maxEdge.v).remove(maxEdge.u);
+            adj.removed[maxEdge] = true;
         }
 
-        return getConnectedComponents(adj, n);
+        return getConnectedComponents(adj);
     }
 
     /**
@@ -87,89 +62,179 @@ public class GraphCommunityMetrics {
             int commU = nodeCommunityMap[u];
             if (commU == -1) continue;
 
-            for (int v : graph.getSuccessors(u)) {
+            final int from = u;
+            graph.forEachSuccessor(u, (v, w) -> {
                 int commV = nodeCommunityMap[v];
 
                 if (commV != -1 && commU != commV) {
-                    bridges.add(u + " -> " + v + " (Comunidade " + commU + " para " + commV + ")");
+                    bridges.add(from + " -> " + v + " (Comunidade " + commU + " para " + commV + ")");
                 }
-            }
+            });
         }
         return bridges;
     }
 
-    private static Map<EdgeKey, Double> calculateEdgeBetweenness(List<Set<Integer>> adj, int n) {
-        Map<EdgeKey, Double> edgeScores = new HashMap<>();
+    /**
+     * Versão não direcionada e simples do grafo em vetores primitivos (sem laços nem arestas repetidas):
+     * a linha de u traz os vizinhos em ordem crescente e edge[slot] é o id da aresta {u, v}, numerada na ordem
+     * dos pares (u, v) com u < v. Remover uma aresta do Girvan-Newman só marca removed[id].
+     */
+    private static final class UndirectedEdges {
+        final int n;
+        final int[] offsets;
+        final int[] neighbors;
+        final int[] edge;
+        final int edgeCount;
+        final boolean[] removed;
+
+        UndirectedEdges(AbstractGraph graph) {
+            this.n = graph.getVertexCount();
+            int[] mark = new int[n];
+            Arrays.fill(mark, -1);
+            int[] cursor = new int[1];
+
+            // Primeira passada conta os vizinhos distintos; a segunda preenche as linhas
+            this.offsets = new int[n + 1];
+            for (int u = 0; u < n; u++) {
+                int from = u;
+                cursor[0] = 0;
+                IntDoubleConsumer count = (v, w) -> {
+                    if (v != from && mark[v] != from) {
+                        mark[v] = from;
+                        cursor[0]++;
+                    }
+                };
+                graph.forEachSuccessor(u, count);
+                graph.forEachPredecessor(u, count);
+                offsets[u + 1] = offsets[u] + cursor[0];
+            }
+
+            this.neighbors = new int[offsets[n]];
+            Arrays.fill(mark, -1);
+            for (int u = 0; u < n; u++) {
+                int from = u;
+                cursor[0] = offsets[u];
+                IntDoubleConsumer fill = (v, w) -> {
+                    if (v != from && mark[v] != from) {
+                        mark[v] = from;
+                        neighbors[cursor[0]++] = v;
+                    }
+                };
+                graph.forEachSuccessor(u, fill);
+                graph.forEachPredecessor(u, fill);
+                Arrays.sort(neighbors, offsets[u], offsets[u + 1]);
+            }
+
+            // Cada par aparece nas duas linhas; o id vem da linha do menor vértice
+            this.edge = new int[offsets[n]];
+            int[] next = Arrays.copyOf(offsets, n);
+            int id = 0;
+            for (int u = 0; u < n; u++) {
+                for (int slot = offsets[u]; slot < offsets[u + 1]; slot++) {
+                    int v = neighbors[slot];
+                    if (v < u) continue;
+                    edge[slot] = id;
+                    edge[next[v]++] = id;
+                    id++;
+                }
+            }
+            this.edgeCount = id;
+            this.removed = new boolean[id];
+        }
+    }
 
-        for (int s = 0; s < n; s++) {
-            Stack<Integer> stack = new Stack<>();
-            List<List<Integer>> P = new ArrayList<>();
-            for (int i = 0; i < n; i++) P.add(new ArrayList<>());
-            
-            double[] sigma = new double[n];
-            int[] dist = new int[n];
+    /** Vetores da BFS de cada fonte, reaproveitados entre as fontes e entre os cortes. */
+    private static final class EdgeBetweennessWorkspace {
+        final int[] dist;
+        final double[] sigma;
+        final double[] delta;
+        final int[] order;
+
+        EdgeBetweennessWorkspace(int n) {
+            this.dist = new int[n];
+            this.sigma = new double[n];
+            this.delta = new double[n];
+            this.order = new int[n];
             Arrays.fill(dist, -1);
-            
-            sigma[s] = 1.0;
-            dist[s] = 0;
-            Queue<Integer> queue = new LinkedList<>();
-            queue.add(s);
+        }
+    }
 
-            while (!queue.isEmpty()) {
-                int v = queue.poll();
-                stack.push(v);
+    private static void calculateEdgeBetweenness(UndirectedEdges adj, EdgeBetweennessWorkspace ws, double[] edgeScores) {
+        Arrays.fill(edgeScores, 0.0);
+        int[] dist = ws.dist;
+        double[] sigma = ws.sigma;
+        double[] delta = ws.delta;
+        int[] order = ws.order;
 
-                for (int w : adj.get(v)) {
+        for (int s = 0; s < adj.n; s++) {
+            sigma[s] = 1.0;
+            dist[s] = 0;
+            order[0] = s;
+            int tail = 1;
+
+            // A fila da BFS já é a ordem de fechamento: percorrida de trás para frente faz o papel da pilha
+            for (int head = 0; head < tail; head++) {
+                int v = order[head];
+                for (int slot = adj.offsets[v], end = adj.offsets[v + 1]; slot < end; slot++) {
+                    if (adj.removed[adj.edge[slot]]) continue;
+                    int w = adj.neighbors[slot];
                     if (dist[w] < 0) {
                         dist[w] = dist[v] + 1;
-                        queue.add(w);
+                        order[tail++] = w;
                     }
                     if (dist[w] == dist[v] + 1) {
                         sigma[w] += sigma[v];
-                        P.get(w).add(v);
                     }
                 }
             }
 
-            double[] delta = new double[n];
-            while (!stack.isEmpty()) {
-                int w = stack.pop();
-                for (int v : P.get(w)) {
+            // Predecessores de w: vizinhos uma camada acima, sem guardar listas
+            for (int i = tail - 1; i >= 0; i--) {
+                int w = order[i];
+                for (int slot = adj.offsets[w], end = adj.offsets[w + 1]; slot < end; slot++) {
+                    int e = adj.edge[slot];
+                    if (adj.removed[e]) continue;
+                    int v = adj.neighbors[slot];
+                    if (dist[v] != dist[w] - 1) continue;
                     double c = (sigma[v] / sigma[w]) * (1.0 + delta[w]);
-                    EdgeKey edge = new EdgeKey(v, w);
-                    edgeScores.put(edge, edgeScores.getOrDefault(edge, 0.0) + c);
+                    edgeScores[e] += c;
                     delta[v] += c;
                 }
             }
+
+            for (int i = 0; i < tail; i++) {
+                int v = order[i];
+                dist[v] = -1;
+                sigma[v] = 0.0;
+                delta[v] = 0.0;
+            }
         }
-        return edgeScores;
     }
 
-    private static List<List<Integer>> getConnectedComponents(List<Set<Integer>> adj, int n) {
+    private static List<List<Integer>> getConnectedComponents(UndirectedEdges adj) {
         List<List<Integer>> components = new ArrayList<>();
-        boolean[] visited = new boolean[n];
-
-        for (int i = 0; i < n; i++) {
-            if (!visited[i]) {
-                List<Integer> component = new ArrayList<>();
-                Queue<Integer> q = new LinkedList<>();
-                q.add(i);
-                visited[i] = true;
-                component.add(i);
-
-                while (!q.isEmpty()) {
-                    int u = q.poll();
-                    for (int v : adj.get(u)) {
-                        if (!visited[v]) {
-                            visited[v] = true;
-                            component.add(v);
-                            q.add(v);
-                        }
+        boolean[] visited = new boolean[adj.n];
+        int[] queue = new int[adj.n];
+
+        for (int i = 0; i < adj.n; i++) {
+            if (visited[i]) continue;
+            visited[i] = true;
+            queue[0] = i;
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int u = queue[head];
+                for (int slot = adj.offsets[u], end = adj.offsets[u + 1]; slot < end; slot++) {
+                    int v = adj.neighbors[slot];
+                    if (!visited[v] && !adj.removed[adj.edge[slot]]) {
+                        visited[v] = true;
+                        queue[tail++] = v;
                     }
                 }
-                components.add(component);
             }
+            List<Integer> component = new ArrayList<>(tail);
+            for (int k = 0; k < tail; k++) component.add(queue[k]);
+            components.add(component);
         }
         return components;
     }
-}
\ No newline at end of file
+}
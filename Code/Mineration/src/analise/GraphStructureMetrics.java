@@ -1,7 +1,8 @@
 package analise;
 
 import estrutura.AbstractGraph;
-import java.util.*;
+import estrutura.IntDoubleConsumer;
+import java.util.Arrays;
 
 public class GraphStructureMetrics {
 
@@ -31,36 +32,28 @@ public class GraphStructureMetrics {
         if (n == 0)
             return 0.0;
 
+        // Vizinhança marcada por carimbo num vetor primitivo, reaproveitado entre os vértices
+        NeighborhoodMarks marks = new NeighborhoodMarks(n);
         double totalClustering = 0.0;
 
         for (int i = 0; i < n; i++) {
-            totalClustering += calculateLocalClustering(graph, i);
+            totalClustering += calculateLocalClustering(graph, i, marks);
         }
 
         return totalClustering / n;
     }
 
-    private static double calculateLocalClustering(AbstractGraph graph, int v) {
-        Set<Integer> neighbors = new HashSet<>();
-        neighbors.addAll(graph.getSuccessors(v));
-        neighbors.addAll(graph.getPredecessors(v));
+    private static double calculateLocalClustering(AbstractGraph graph, int v, NeighborhoodMarks marks) {
+        marks.collect(graph, v);
 
-        neighbors.remove(v);
-
-        int k = neighbors.size();
+        int k = marks.size;
         if (k < 2)
             return 0.0;
 
+        // Arestas a -> b entre vizinhos: percorre as linhas de saída dos vizinhos em vez de testar os k² pares
         int linksBetweenNeighbors = 0;
-        for (int neighborA : neighbors) {
-            for (int neighborB : neighbors) {
-                if (neighborA == neighborB)
-                    continue;
-
-                if (graph.hasEdge(neighborA, neighborB)) {
-                    linksBetweenNeighbors++;
-                }
-            }
+        for (int i = 0; i < k; i++) {
+            linksBetweenNeighbors += marks.countLinks(graph, marks.neighbors[i]);
         }
 
         double possibleLinks = (double) k * (k - 1);
@@ -68,6 +61,60 @@ public class GraphStructureMetrics {
         return linksBetweenNeighbors / possibleLinks;
     }
 
+    private static final class NeighborhoodMarks {
+        final int[] neighbors;
+        final int[] inNeighborhood; // carimbo do vértice cuja vizinhança está marcada
+        final int[] linked;         // carimbo do vizinho cuja linha está sendo percorrida (ignora arestas repetidas)
+        int size;
+        int stamp;
+        int linkStamp;
+        int links;
+
+        private final IntDoubleConsumer add;
+        private final IntDoubleConsumer link;
+
+        NeighborhoodMarks(int n) {
+            this.neighbors = new int[n];
+            this.inNeighborhood = new int[n];
+            this.linked = new int[n];
+            this.add = (u, w) -> {
+                if (inNeighborhood[u] != stamp) {
+                    inNeighborhood[u] = stamp;
+                    neighbors[size++] = u;
+                }
+            };
+            this.link = (b, w) -> {
+                if (inNeighborhood[b] == stamp && linked[b] != linkStamp) {
+                    linked[b] = linkStamp;
+                    links++;
+                }
+            };
+        }
+
+        /** Marca os vizinhos de v (entrada e saída), sem o próprio v. */
+        void collect(AbstractGraph graph, int v) {
+            stamp++;
+            size = 0;
+            inNeighborhood[v] = stamp;
+            graph.forEachSuccessor(v, add);
+            graph.forEachPredecessor(v, add);
+            inNeighborhood[v] = 0;
+        }
+
+        /** Nº de vizinhos b != a (da vizinhança marcada) com aresta a -> b. */
+        int countLinks(AbstractGraph graph, int a) {
+            if (linkStamp == Integer.MAX_VALUE) {
+                Arrays.fill(linked, 0);
+                linkStamp = 0;
+            }
+            linkStamp++;
+            linked[a] = linkStamp;
+            links = 0;
+            graph.forEachSuccessor(a, link);
+            return links;
+        }
+    }
+
     /**
      * 3. Assortatividade de Grau (Degree Assortativity)
      * Mede a correlação de Pearson entre os graus dos nós conectados.
@@ -75,48 +122,57 @@ public class GraphStructureMetrics {
      * r < 0: Redes disassortativas (Hubs se conectam com nós pequenos).
      */
     public static double calculateAssortativity(AbstractGraph graph) {
-        List<Integer> xDegrees = new ArrayList<>();
-        List<Integer> yDegrees = new ArrayList<>();
-
         int n = graph.getVertexCount();
 
+        int[] degree = new int[n];
         for (int u = 0; u < n; u++) {
-            for (int v : graph.getSuccessors(u)) {
-                int degU = graph.getVertexInDegree(u) + graph.getVertexOutDegree(u);
-                int degV = graph.getVertexInDegree(v) + graph.getVertexOutDegree(v);
+            degree[u] = graph.getVertexInDegree(u) + graph.getVertexOutDegree(u);
+        }
 
-                xDegrees.add(degU);
-                yDegrees.add(degV);
-            }
+        // Somas de Pearson acumuladas aresta a aresta: O(n) de memória, sem vetores do tamanho de m
+        PearsonSums sums = new PearsonSums();
+        for (int u = 0; u < n; u++) {
+            int degU = degree[u];
+            graph.forEachSuccessor(u, (v, w) -> sums.add(degU, degree[v]));
         }
 
-        return calculatePearsonCorrelation(xDegrees, yDegrees);
+        return sums.correlation();
     }
 
-    private static double calculatePearsonCorrelation(List<Integer> x, List<Integer> y) {
-        int count = x.size();
-        if (count == 0)
-            return 0.0;
-
+    private static final class PearsonSums {
         double sumX = 0.0, sumY = 0.0, sumXY = 0.0;
         double sumX2 = 0.0, sumY2 = 0.0;
+        int count;
 
-        for (int i = 0; i < count; i++) {
-            double xi = x.get(i);
-            double yi = y.get(i);
-
+        void add(double xi, double yi) {
             sumX += xi;
             sumY += yi;
             sumXY += xi * yi;
             sumX2 += xi * xi;
             sumY2 += yi * yi;
+            count++;
         }
 
-        double numerator = (count * sumXY) - (sumX * sumY);
-        double denominator = Math.sqrt((count * sumX2 - sumX * sumX) * (count * sumY2 - sumY * sumY));
+        double correlation() {
+            if (count == 0)
+                return 0.0;
 
-        if (denominator == 0)
-            return 0.0;
-        return numerator / denominator;
+            double numerator = (count * sumXY) - (sumX * sumY);
+            double denominator = Math.sqrt((count * sumX2 - sumX * sumX) * (count * sumY2 - sumY * sumY));
+
+            if (denominator == 0)
+                return 0.0;
+            return numerator / denominator;
+        }
+    }
+
+    /**
+     * 4. Excentricidade e Distribuição de Distâncias
+     * Excentricidade de cada vértice (maior distância, em arestas, até um vértice alcançável) e o histograma
+     * de distâncias entre pares alcançáveis; o diâmetro é a maior excentricidade.
+     * Uma passada de BFS de múltiplas fontes por máscaras de bits (MultiSourceBfs), que também traz a closeness.
+     */
+    public static MultiSourceBfs.Result calculateDistanceProfile(AbstractGraph graph) {
+        return MultiSourceBfs.compute(graph);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,277 @@
+package analise;
+
+import java.util.Arrays;
+
+import estrutura.IntDoubleConsumer;
+import estrutura.VersionedGraph;
+
+/**
+ * PageRank mantido incrementalmente sobre um {@link VersionedGraph}: cada lote de arestas inseridas ou
+ * com peso alterado é publicado como nova versão e o vetor é corrigido a partir do anterior, por propagação
+ * de resíduo só a partir dos vértices afetados, em vez de reiniciar a iteração de potência do vetor uniforme.
+ *
+ * O motor guarda a estimativa x e o resíduo r = c + d·A·x - x da equação do PageRank (c = (1 - d) / n, A com os
+ * vértices sem saída repartindo igualmente). Mudar as arestas de u altera só a coluna u de A, então o lote
+ * mexe no resíduo dos vizinhos (antigos e novos) de u; depois, cada push em v move r[v] para x[v] e espalha
+ * d·r[v] pelos sucessores. O resíduo que um vértice sem saída espalharia para todos os n vértices fica num escalar
+ * (resíduo uniforme) e é incorporado no final de cada lote multiplicando o vetor por um fator, guardado
+ * também como escalar. Ao final, todo |r[v]| fica abaixo de epsilon, e o erro L1 do vetor é no máximo
+ * n·epsilon / (1 - d).
+ *
+ * Custo de um lote: a propagação é proporcional aos pushes feitos, e o commit no {@link VersionedGraph} custa
+ * O(alterações + n / 1024) (mais a compactação ocasional da base, O(n + m) amortizado). Além disso, quando
+ * o fator de escala sai de [0,5; 2] ele é aplicado aos vetores numa passada O(n);
+ * como cada lote muda o fator pouco, isso acontece raramente.
+ *
+ * Vértices novos não são suportados (o {@link VersionedGraph} tem nº fixo de vértices): exigem recálculo.
+ */
+public class IncrementalPageRank {
+    /** Fora desta faixa o fator de escala é aplicado aos vetores, para não acumular erro de arredondamento. */
+    private static final double MIN_SCALE = 0.5;
+    private static final double MAX_SCALE = 2.0;
+
+    private final VersionedGraph graph;
+    private VersionedGraph.Snapshot snapshot;
+    private final int n;
+    private final double damping;
+    private final double epsilon;
+
+    // Valor verdadeiro = scale * valor guardado (x, r e o resíduo uniforme)
+    private final double[] x;
+    private final double[] r;
+    private double uniform;
+    private double scale = 1.0;
+    private final double[] outWeight;
+
+    private final boolean[] queued;
+    private final int[] queue; // circular; cada vértice entra no máximo uma vez por vez
+    private int head;
+    private int size;
+    private final int[] pushedIn; // nº do lote em que o vértice foi empurrado pela última vez
+    private final int[] changedIn; // nº do lote em que as arestas de saída do vértice mudaram pela última vez
+    private int batch;
+    private int touched;
+    private long pushes;
+
+    private double spread;
+    private final IntDoubleConsumer push = (v, w) -> addResidual(v, spread * w);
+
+    /** Calcula o PageRank da versão atual do grafo e passa a mantê-lo. */
+    public IncrementalPageRank(VersionedGraph graph, double damping, double epsilon) {
+        this(graph, damping, epsilon, null);
+    }
+
+    /**
+     * @param previousRanks vetor de uma execução anterior (ex.: antes de reiniciar o processo), usado como ponto
+     *                      de partida; null = calcula com {@link PageRank}
+     * @param epsilon       resíduo máximo deixado em cada vértice
+     */
+    public IncrementalPageRank(VersionedGraph graph, double damping, double epsilon, double[] previousRanks) {
+        if (!(damping > 0 && damping < 1)) throw new IllegalArgumentException("Damping inválido: " + damping);
+        if (!(epsilon > 0)) throw new IllegalArgumentException("Epsilon inválido: " + epsilon);
+        this.graph = graph;
+        this.snapshot = graph.snapshot();
+        this.n = snapshot.getVertexCount();
+        this.damping = damping;
+        this.epsilon = epsilon;
+        if (previousRanks != null && previousRanks.length != n) {
+            throw new IllegalArgumentException("Vetor anterior com " + previousRanks.length + " posições para " + n + " vértices");
+        }
+
+        this.x = previousRanks != null ? Arrays.copyOf(previousRanks, n)
+                : PageRank.compute(snapshot, damping, 100, epsilon).getRanks();
+        this.r = new double[n];
+        this.outWeight = new double[n];
+        this.queued = new boolean[n];
+        this.queue = new int[n];
+        this.pushedIn = new int[n];
+        this.changedIn = new int[n];
+
+        // Resíduo completo do ponto de partida: uma passada O(m), só na construção
+        double dangling = 0;
+        for (int u = 0; u < n; u++) {
+            int source = u;
+            snapshot.forEachSuccessor(u, (v, w) -> outWeight[source] += w);
+            if (outWeight[u] == 0) dangling += x[u];
+        }
+        Arrays.fill(r, (1.0 - damping) / n + damping * dangling / n);
+        for (int v = 0; v < n; v++) r[v] -= x[v];
+        for (int u = 0; u < n; u++) {
+            if (outWeight[u] == 0 || x[u] == 0) continue;
+            double factor = damping * x[u] / outWeight[u];
+            snapshot.forEachSuccessor(u, (v, w) -> r[v] += factor * w);
+        }
+        batch = 1;
+        for (int v = 0; v < n; v++) enqueueIfLarge(v);
+        propagate();
+        fold();
+    }
+
+    /** Resumo da atualização de um lote. */
+    public static final class Update {
+        private final long version;
+        private final int changedSources;
+        private final int touchedVertices;
+        private final long pushes;
+
+        Update(long version, int changedSources, int touchedVertices, long pushes) {
+            this.version = version;
+            this.changedSources = changedSources;
+            this.touchedVertices = touchedVertices;
+            this.pushes = pushes;
+        }
+
+        /** Versão do grafo publicada pelo lote. */
+        public long getVersion() {
+            return version;
+        }
+
+        /** Vértices cujas arestas de saída mudaram. */
+        public int getChangedSources() {
+            return changedSources;
+        }
+
+        /** Vértices distintos que receberam push (os demais só mudam pelo fator de escala comum). */
+        public int getTouchedVertices() {
+            return touchedVertices;
+        }
+
+        public long getPushes() {
+            return pushes;
+        }
+    }
+
+    /**
+     * Registra o lote (setEdgeWeight para cada aresta: insere ou troca o peso), publica a nova versão e corrige
+     * o PageRank. Todas as escritas no grafo devem passar pelo motor; se ele mudou por fora, o vetor não
+     * corresponde mais à versão e a atualização é recusada.
+     */
+    public Update applyBatch(int[] sources, int[] targets, double[] weights) {
+        if (sources.length != targets.length || sources.length != weights.length) {
+            throw new IllegalArgumentException("Vetores do lote com tamanhos diferentes.");
+        }
+        for (int i = 0; i < sources.length; i++) {
+            // Valida antes de escrever: um lote rejeitado no meio deixaria alterações pendentes no grafo
+            if (sources[i] < 0 || sources[i] >= n || targets[i] < 0 || targets[i] >= n) {
+                throw new IndexOutOfBoundsException("Aresta inválida no lote: " + sources[i] + " -> " + targets[i]);
+            }
+        }
+        VersionedGraph.Snapshot previous = snapshot;
+        VersionedGraph.Snapshot next;
+        synchronized (graph) {
+            if (graph.getVersion() != previous.getVersion() || graph.getPendingCount() > 0) {
+                throw new IllegalStateException("O grafo foi alterado fora do PageRank incremental.");
+            }
+            for (int i = 0; i < sources.length; i++) graph.setEdgeWeight(sources[i], targets[i], weights[i]);
+            next = graph.commit();
+        }
+
+        // Origens distintas do lote (laços são ignorados pelo grafo)
+        batch++;
+        touched = 0;
+        pushes = 0;
+        int[] changed = new int[sources.length];
+        int changedCount = 0;
+        for (int i = 0; i < sources.length; i++) {
+            int u = sources[i];
+            if (u != targets[i] && changedIn[u] != batch) {
+                changedIn[u] = batch;
+                changed[changedCount++] = u;
+            }
+        }
+
+        // Tira a coluna antiga de cada origem e põe a nova: d·x[u] sai dos vizinhos antigos e entra nos novos
+        for (int i = 0; i < changedCount; i++) column(previous, changed[i], -1);
+        snapshot = next;
+        for (int i = 0; i < changedCount; i++) {
+            int u = changed[i];
+            double[] total = new double[1];
+            next.forEachSuccessor(u, (v, w) -> total[0] += w);
+            outWeight[u] = total[0];
+            column(next, u, +1);
+        }
+        propagate();
+        fold();
+        return new Update(next.getVersion(), changedCount, touched, pushes);
+    }
+
+    private void column(VersionedGraph.Snapshot g, int u, int sign) {
+        if (x[u] == 0) return;
+        if (outWeight[u] == 0) {
+            uniform += sign * damping * x[u] / n;
+        } else {
+            spread = sign * damping * x[u] / outWeight[u];
+            g.forEachSuccessor(u, push);
+        }
+    }
+
+    private void propagate() {
+        while (size > 0) {
+            int u = queue[head];
+            head = head + 1 == n ? 0 : head + 1;
+            size--;
+            queued[u] = false;
+
+            double mass = r[u];
+            r[u] = 0;
+            x[u] += mass;
+            pushes++;
+            if (pushedIn[u] != batch) {
+                pushedIn[u] = batch;
+                touched++;
+            }
+            if (outWeight[u] == 0) {
+                uniform += damping * mass / n;
+            } else {
+                spread = damping * mass / outWeight[u];
+                snapshot.forEachSuccessor(u, push);
+            }
+        }
+    }
+
+    private void addResidual(int v, double mass) {
+        r[v] += mass;
+        enqueueIfLarge(v);
+    }
+
+    private void enqueueIfLarge(int v) {
+        if (!queued[v] && Math.abs(r[v]) * scale > epsilon) {
+            queued[v] = true;
+            queue[(head + size) % n] = v;
+            size++;
+        }
+    }
+
+    /**
+     * Incorpora o resíduo uniforme: (I - d·A)^-1 aplicado ao vetor de uns é n / (1 - d) vezes o próprio PageRank,
+     * então pr = scale·(x + R·r) / (1 - ρ·n / (1 - d)) e basta ajustar o fator de escala.
+     */
+    private void fold() {
+        double rho = scale * uniform;
+        scale /= 1.0 - rho * n / (1.0 - damping);
+        uniform = 0;
+        if (scale < MIN_SCALE || scale > MAX_SCALE) {
+            for (int v = 0; v < n; v++) {
+                x[v] *= scale;
+                r[v] *= scale;
+            }
+            scale = 1.0;
+        }
+    }
+
+    /** PageRank atual (cópia). */
+    public double[] getRanks() {
+        double[] ranks = new double[n];
+        for (int v = 0; v < n; v++) ranks[v] = scale * x[v];
+        return ranks;
+    }
+
+    public double getRank(int v) {
+        return scale * x[v];
+    }
+
+    /** Versão do grafo a que o vetor corresponde. */
+    public VersionedGraph.Snapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,229 @@
+package analise;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import estrutura.AbstractGraph;
+import estrutura.IntDoubleConsumer;
+
+/**
+ * BFS de múltiplas fontes com paralelismo de bits (MS-BFS): 64 fontes percorrem o grafo ao mesmo tempo,
+ * cada uma num bit de um long por vértice (seen = fontes que já alcançaram o vértice, visit = fontes para as
+ * quais ele está na fronteira). Uma aresta é examinada uma vez por nível para todas as fontes do lote, em vez
+ * de uma vez por fonte, o que em grafos de mundo pequeno (fronteiras que se sobrepõem) reduz muito o trabalho.
+ *
+ * De uma passada saem, para cada fonte, a closeness (mesma fórmula de Wasserman-Faust da versão por BFS),
+ * a excentricidade (maior distância até um vértice alcançável) e, para o grafo todo, o histograma de
+ * distâncias. Os lotes de 64 fontes são divididos entre as threads de um {@link ForkJoinPool}, com espaços
+ * de trabalho emprestados de um {@link WorkspacePool} como em {@link BrandesBetweenness}. As linhas são lidas
+ * com {@code forEachSuccessor}, sem copiar a adjacência para o heap, então grafos mapeados e em disco usam o
+ * mesmo caminho.
+ */
+public final class MultiSourceBfs {
+    private static final int BLOCKS_PER_THREAD = 8;
+
+    private MultiSourceBfs() {
+    }
+
+    public static final class Result {
+        private final double[] closeness;
+        private final int[] eccentricity;
+        private final long[] distanceHistogram;
+
+        Result(double[] closeness, int[] eccentricity, long[] distanceHistogram) {
+            this.closeness = closeness;
+            this.eccentricity = eccentricity;
+            this.distanceHistogram = distanceHistogram;
+        }
+
+        /** (r / soma das distâncias) * (r / (n - 1)), com r = nº de vértices alcançáveis; 0 se não alcança nenhum. */
+        public double[] getCloseness() {
+            return closeness;
+        }
+
+        /** Maior distância (em arestas) da fonte até um vértice alcançável; 0 se não alcança nenhum. */
+        public int[] getEccentricity() {
+            return eccentricity;
+        }
+
+        /** histogram[d] = nº de pares ordenados (s, t) com distância d (histogram[0] = n, cada vértice a si mesmo). */
+        public long[] getDistanceHistogram() {
+            return distanceHistogram;
+        }
+
+        /** Maior excentricidade: o diâmetro entre pares alcançáveis. */
+        public int getDiameter() {
+            return distanceHistogram.length - 1;
+        }
+    }
+
+    public static Result compute(AbstractGraph graph) {
+        return compute(graph, ForkJoinPool.commonPool());
+    }
+
+    public static Result compute(AbstractGraph graph, ForkJoinPool pool) {
+        int n = graph.getVertexCount();
+        if (n == 0) return new Result(new double[0], new int[0], new long[] {0});
+
+        double[] closeness = new double[n];
+        int[] eccentricity = new int[n];
+        WorkspacePool<Workspace> workspaces =
+                new WorkspacePool<>(() -> new Workspace(graph, closeness, eccentricity));
+        int batches = (n + 63) >>> 6;
+        int grain = Math.max(1, batches / (pool.getParallelism() * BLOCKS_PER_THREAD));
+        pool.invoke(new BatchRange(workspaces, 0, batches, grain));
+
+        int maxLevel = 0;
+        for (Workspace w : workspaces.all()) maxLevel = Math.max(maxLevel, w.maxLevel);
+        long[] histogram = new long[maxLevel + 1];
+        histogram[0] = n;
+        for (Workspace w : workspaces.all()) {
+            for (int d = 1; d <= w.maxLevel; d++) histogram[d] += w.histogram[d];
+        }
+        return new Result(closeness, eccentricity, histogram);
+    }
+
+    private static final class BatchRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WorkspacePool<Workspace> workspaces;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        BatchRange(WorkspacePool<Workspace> workspaces, int from, int to, int grain) {
+            this.workspaces = workspaces;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                Workspace w = workspaces.take();
+                try {
+                    for (int b = from; b < to; b++) w.run(b << 6);
+                } finally {
+                    workspaces.give(w);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchRange(workspaces, from, mid, grain), new BatchRange(workspaces, mid, to, grain));
+        }
+    }
+
+    /** Estado de um bloco de lotes em execução: máscaras por vértice, somas do lote atual e o histograma acumulado. */
+    private static final class Workspace {
+        final int n;
+        final AbstractGraph graph;
+        final double[] closeness;
+        final int[] eccentricity;
+
+        final long[] seen;
+        final long[] visit;
+        final long[] next;
+        // Fronteiras como listas, para não varrer os n vértices a cada nível quando a fronteira é pequena
+        final int[] frontier;
+        final int[] candidates;
+        final int[] touched; // vértices com seen != 0, limpos no início do lote seguinte
+        int touchedCount;
+        int candidateCount;
+        long expanding; // fontes que o vértice da fronteira em expansão repassa
+        final int[] reached = new int[64];
+        final long[] totalDist = new long[64];
+        final int[] ecc = new int[64];
+        long[] histogram = new long[16];
+        int maxLevel;
+
+        // Visitante criado uma vez por espaço de trabalho, como em BrandesBetweenness
+        private final IntDoubleConsumer expand;
+
+        Workspace(AbstractGraph graph, double[] closeness, int[] eccentricity) {
+            this.n = graph.getVertexCount();
+            this.graph = graph;
+            this.closeness = closeness;
+            this.eccentricity = eccentricity;
+            this.seen = new long[n];
+            this.visit = new long[n];
+            this.next = new long[n];
+            this.frontier = new int[n];
+            this.candidates = new int[n];
+            this.touched = new int[n];
+            this.expand = (w, weight) -> {
+                if (next[w] == 0) candidates[candidateCount++] = w;
+                next[w] |= expanding;
+            };
+        }
+
+        /** BFS simultânea das fontes first..first+63 (ou até n); a fonte first + i usa o bit i. */
+        void run(int first) {
+            int count = Math.min(64, n - first);
+            for (int i = 0; i < touchedCount; i++) seen[touched[i]] = 0;
+            Arrays.fill(reached, 0);
+            Arrays.fill(totalDist, 0);
+            Arrays.fill(ecc, 0);
+            int frontierSize = 0;
+            for (int i = 0; i < count; i++) {
+                seen[first + i] = 1L << i;
+                visit[first + i] = 1L << i;
+                frontier[frontierSize++] = first + i;
+            }
+            System.arraycopy(frontier, 0, touched, 0, count);
+            touchedCount = count;
+
+            for (int level = 1; frontierSize > 0; level++) {
+                // Expansão: cada vértice da fronteira repassa suas fontes aos sucessores
+                candidateCount = 0;
+                for (int f = 0; f < frontierSize; f++) {
+                    int v = frontier[f];
+                    expanding = visit[v];
+                    visit[v] = 0;
+                    graph.forEachSuccessor(v, expand);
+                }
+                // Só ficam na nova fronteira as fontes que ainda não tinham alcançado o vértice
+                frontierSize = 0;
+                long levelCount = 0;
+                for (int c = 0; c < candidateCount; c++) {
+                    int w = candidates[c];
+                    long fresh = next[w] & ~seen[w];
+                    next[w] = 0;
+                    if (fresh == 0) continue;
+                    if (seen[w] == 0) touched[touchedCount++] = w;
+                    seen[w] |= fresh;
+                    visit[w] = fresh;
+                    frontier[frontierSize++] = w;
+                    levelCount += Long.bitCount(fresh);
+                    do {
+                        int i = Long.numberOfTrailingZeros(fresh);
+                        reached[i]++;
+                        totalDist[i] += level;
+                        ecc[i] = level;
+                        fresh &= fresh - 1;
+                    } while (fresh != 0);
+                }
+                if (levelCount > 0) record(level, levelCount);
+            }
+
+            for (int i = 0; i < count; i++) {
+                int s = first + i;
+                eccentricity[s] = ecc[i];
+                if (totalDist[i] > 0) {
+                    double val = (double) reached[i] / totalDist[i];
+                    val *= (double) reached[i] / (n - 1);
+                    closeness[s] = val;
+                } else {
+                    closeness[s] = 0.0;
+                }
+            }
+        }
+
+        private void record(int level, long pairs) {
+            if (level >= histogram.length) histogram = Arrays.copyOf(histogram, Math.max(level + 1, histogram.length * 2));
+            histogram[level] += pairs;
+            maxLevel = Math.max(maxLevel, level);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package analise;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import estrutura.AbstractGraph;
+import estrutura.IntDoubleConsumer;
+
+/**
+ * PageRank ponderado por iteração de potência em vetores primitivos, no estilo "pull": cada vértice soma
+ * o que chega pelas suas arestas de entrada, então as faixas de vértices podem ser calculadas em paralelo
+ * sem escrita compartilhada.
+ *
+ * Cada iteração puxa as linhas de entrada com {@code forEachPredecessor}, sem copiar a adjacência: o heap
+ * fica em O(n) e grafos mapeados ou em disco usam o mesmo caminho que os do heap. A massa dos vértices sem
+ * saída (dangling) é somada uma vez por iteração e repartida igualmente como uma
+ * constante, em vez de um laço O(n) por vértice dangling. As somas de controle (massa dangling e resíduo)
+ * são sequenciais, então o resultado não depende do número de threads.
+ */
+public final class PageRank {
+    /** Faixa mínima de vértices por tarefa: abaixo disso o custo de dividir supera o ganho. */
+    private static final int MIN_GRAIN = 1024;
+    private static final int BLOCKS_PER_THREAD = 8;
+
+    private PageRank() {
+    }
+
+    /** Ranks finais e o resíduo L1 (soma de |novo - anterior|) de cada iteração executada. */
+    public static final class Result {
+        private final double[] ranks;
+        private final double[] residuals;
+        private final boolean converged;
+
+        Result(double[] ranks, double[] residuals, boolean converged) {
+            this.ranks = ranks;
+            this.residuals = residuals;
+            this.converged = converged;
+        }
+
+        public double[] getRanks() {
+            return ranks;
+        }
+
+        /** residuals[i] = resíduo L1 da iteração i + 1. */
+        public double[] getResiduals() {
+            return residuals;
+        }
+
+        public int getIterations() {
+            return residuals.length;
+        }
+
+        /** Verdadeiro se o resíduo ficou abaixo da tolerância antes de esgotar as iterações. */
+        public boolean isConverged() {
+            return converged;
+        }
+    }
+
+    public static Result compute(AbstractGraph graph, double damping, int maxIter, double tol) {
+        return compute(graph, damping, maxIter, tol, ForkJoinPool.commonPool());
+    }
+
+    public static Result compute(AbstractGraph graph, double damping, int maxIter, double tol, ForkJoinPool pool) {
+        return compute(new Transition(graph), damping, maxIter, tol, null, pool);
+    }
+
+    /**
+     * @param initial vetor inicial (ex.: o PageRank de uma versão anterior do grafo); null = uniforme 1/n
+     */
+    static Result compute(Transition t, double damping, int maxIter, double tol, double[] initial, ForkJoinPool pool) {
+        int n = t.n;
+        if (n == 0) return new Result(new double[0], new double[0], true);
+
+        double[] pr = initial != null ? Arrays.copyOf(initial, n) : new double[n];
+        if (initial == null) Arrays.fill(pr, 1.0 / n);
+        double[] next = new double[n];
+        double[] contribution = new double[n];
+        double[] trace = new double[Math.max(0, maxIter)];
+        int grain = Math.max(MIN_GRAIN, n / (pool.getParallelism() * BLOCKS_PER_THREAD));
+
+        int iterations = 0;
+        boolean converged = false;
+        while (iterations < maxIter) {
+            double dangling = 0;
+            for (int u : t.dangling) dangling += pr[u];
+            double base = (1.0 - damping) / n + damping * dangling / n;
+
+            t.contributions(pr, contribution);
+            pool.invoke(new PullRange(t, contribution, next, damping, base, 0, n, grain));
+
+            double err = 0;
+            for (int v = 0; v < n; v++) err += Math.abs(next[v] - pr[v]);
+            trace[iterations++] = err;
+
+            double[] swap = pr;
+            pr = next;
+            next = swap;
+            if (err < tol) {
+                converged = true;
+                break;
+            }
+        }
+        return new Result(pr, Arrays.copyOf(trace, iterations), converged);
+    }
+
+    /**
+     * Matriz de transição: o grafo (lido pela in-adjacência a cada iteração) e o peso de saída de cada vértice.
+     * A divisão pela saída de u é feita uma vez por iteração no vetor de contribuições (pr[u] / saída(u)),
+     * então a montagem é uma única passada pelas arestas.
+     */
+    static final class Transition {
+        final int n;
+        final AbstractGraph graph;
+        final double[] outWeight;
+        final int[] dangling;
+
+        Transition(AbstractGraph graph) {
+            this.n = graph.getVertexCount();
+            this.graph = graph;
+            this.outWeight = new double[n];
+            int danglingCount = 0;
+            for (int u = 0; u < n; u++) {
+                int source = u;
+                graph.forEachSuccessor(u, (v, w) -> outWeight[source] += w);
+                if (outWeight[u] == 0) danglingCount++;
+            }
+            this.dangling = new int[danglingCount];
+            for (int u = 0, d = 0; u < n; u++) {
+                if (outWeight[u] == 0) dangling[d++] = u;
+            }
+        }
+
+        /** contribution[u] = pr[u] / saída(u); zero para os dangling, cuja massa entra pela constante. */
+        void contributions(double[] pr, double[] contribution) {
+            for (int u = 0; u < n; u++) contribution[u] = outWeight[u] == 0 ? 0 : pr[u] / outWeight[u];
+        }
+    }
+
+    /** Soma de contribution[u] * w(u, v) sobre uma linha de entrada; um por tarefa folha. */
+    private static final class RowSum implements IntDoubleConsumer {
+        private final double[] contribution;
+        double sum;
+
+        RowSum(double[] contribution) {
+            this.contribution = contribution;
+        }
+
+        @Override
+        public void accept(int u, double w) {
+            sum += contribution[u] * w;
+        }
+    }
+
+    private static final class PullRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Transition t;
+        private final double[] contribution;
+        private final double[] next;
+        private final double damping;
+        private final double base;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        PullRange(Transition t, double[] contribution, double[] next, double damping, double base, int from, int to,
+                int grain) {
+            this.t = t;
+            this.contribution = contribution;
+            this.next = next;
+            this.damping = damping;
+            this.base = base;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                RowSum row = new RowSum(contribution);
+                for (int v = from; v < to; v++) {
+                    row.sum = 0;
+                    t.graph.forEachPredecessor(v, row);
+                    next[v] = base + damping * row.sum;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PullRange(t, contribution, next, damping, base, from, mid, grain),
+                    new PullRange(t, contribution, next, damping, base, mid, to, grain));
+        }
+    }
+}
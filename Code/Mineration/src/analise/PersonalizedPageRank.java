@@ -0,0 +1,209 @@
+package analise;
+
+import java.util.Arrays;
+
+import estrutura.AbstractGraph;
+
+/**
+ * PageRank personalizado local pelo algoritmo de push de Andersen, Chung e Lang (forward push).
+ *
+ * Cada vértice tem uma estimativa p e um resíduo r; a massa começa toda no resíduo das sementes. Um push em u
+ * move α·r[u] para p[u] e espalha (1 - α)·r[u] pelos sucessores, proporcional ao peso das arestas (de um vértice
+ * sem saída a massa volta às sementes, como no teleporte). Só vértices com r[u] >= ε·grau(u) são empurrados,
+ * então o trabalho é O(1 / (α·ε)), independente do tamanho do grafo. Ao final p nunca passa do valor exato
+ * e o resíduo que falta distribuir é menor que ε·grau(u) em cada vértice u.
+ *
+ * A instância é um motor reutilizável: o grafo é copiado uma vez para vetores primitivos e os vetores de
+ * trabalho são limpos só nas posições tocadas pela consulta anterior. Não é thread-safe; use uma por thread.
+ */
+public class PersonalizedPageRank {
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] probabilities; // w(u, v) / saída(u)
+    private final double alpha;
+    private final double epsilon;
+
+    private final double[] p;
+    private final double[] r;
+    private final boolean[] touched;
+    private final int[] touchedList;
+    private int touchedCount;
+    private final boolean[] queued;
+    private final int[] queue; // circular; cada vértice entra no máximo uma vez por vez
+    private int head;
+    private int size;
+
+    /**
+     * @param damping mesma convenção do PageRank global (0.85): a probabilidade de teleporte é 1 - damping
+     * @param epsilon tolerância do resíduo por unidade de grau; menor = mais preciso e mais pushes
+     */
+    public PersonalizedPageRank(AbstractGraph graph, double damping, double epsilon) {
+        if (!(damping > 0 && damping < 1)) throw new IllegalArgumentException("Damping inválido: " + damping);
+        if (!(epsilon > 0)) throw new IllegalArgumentException("Epsilon inválido: " + epsilon);
+        this.n = graph.getVertexCount();
+        this.alpha = 1.0 - damping;
+        this.epsilon = epsilon;
+
+        this.offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + graph.getVertexOutDegree(u);
+        this.targets = new int[offsets[n]];
+        this.probabilities = new double[offsets[n]];
+        int[] cursor = new int[1];
+        for (int u = 0; u < n; u++) {
+            int start = cursor[0];
+            double[] total = new double[1];
+            graph.forEachSuccessor(u, (v, w) -> {
+                targets[cursor[0]] = v;
+                probabilities[cursor[0]++] = w;
+                total[0] += w;
+            });
+            for (int i = start; i < cursor[0]; i++) {
+                probabilities[i] = total[0] > 0 ? probabilities[i] / total[0] : 1.0 / (cursor[0] - start);
+            }
+        }
+
+        this.p = new double[n];
+        this.r = new double[n];
+        this.touched = new boolean[n];
+        this.touchedList = new int[n];
+        this.queued = new boolean[n];
+        this.queue = new int[n];
+    }
+
+    /** Vértices mais relevantes para as sementes, em ordem decrescente de score. */
+    public static final class Ranking {
+        private final int[] vertices;
+        private final double[] scores;
+        private final long pushes;
+
+        Ranking(int[] vertices, double[] scores, long pushes) {
+            this.vertices = vertices;
+            this.scores = scores;
+            this.pushes = pushes;
+        }
+
+        public int[] getVertices() {
+            return vertices;
+        }
+
+        public double[] getScores() {
+            return scores;
+        }
+
+        /** Quantidade de pushes executados (medida do trabalho da consulta). */
+        public long getPushes() {
+            return pushes;
+        }
+    }
+
+    /**
+     * Os k vértices de maior PageRank personalizado a partir das sementes (com peso igual entre elas),
+     * sem as próprias sementes.
+     */
+    public Ranking topK(int k, int... seeds) {
+        if (seeds.length == 0) throw new IllegalArgumentException("Informe ao menos uma semente.");
+        for (int s : seeds) {
+            if (s < 0 || s >= n) throw new IndexOutOfBoundsException("Vértice inválido: " + s);
+        }
+        clear();
+        long pushes = push(seeds);
+
+        // Seleção dos k melhores por inserção: a consulta toca O(1 / (α·ε)) vértices, não n
+        int limit = Math.max(0, k);
+        int[] vertices = new int[limit];
+        double[] scores = new double[limit];
+        int filled = 0;
+        outer:
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touchedList[i];
+            if (score(v) <= 0) continue;
+            for (int s : seeds) {
+                if (s == v) continue outer;
+            }
+            if (filled == limit && (limit == 0 || !better(v, vertices[limit - 1]))) continue;
+            int pos = filled < limit ? filled++ : limit - 1;
+            while (pos > 0 && better(v, vertices[pos - 1])) {
+                vertices[pos] = vertices[pos - 1];
+                scores[pos] = scores[pos - 1];
+                pos--;
+            }
+            vertices[pos] = v;
+            scores[pos] = score(v);
+        }
+        if (filled < limit) {
+            vertices = Arrays.copyOf(vertices, filled);
+            scores = Arrays.copyOf(scores, filled);
+        }
+        return new Ranking(vertices, scores, pushes);
+    }
+
+    /**
+     * p[v] + α·r[v]: o resíduo parado em v renderia pelo menos α·r[v] a ele, então o score continua sendo um
+     * limite inferior do valor exato, e vizinhos cujo resíduo não chegou ao limiar ainda entram no ranking.
+     */
+    private double score(int v) {
+        return p[v] + alpha * r[v];
+    }
+
+    /** Maior score primeiro; empate pelo menor índice, para o resultado não depender da ordem de visita. */
+    private boolean better(int v, int w) {
+        double sv = score(v);
+        double sw = score(w);
+        return sv > sw || (sv == sw && v < w);
+    }
+
+    private long push(int[] seeds) {
+        double share = 1.0 / seeds.length;
+        for (int s : seeds) {
+            addResidual(s, share);
+        }
+        long pushes = 0;
+        while (size > 0) {
+            int u = queue[head];
+            head = head + 1 == n ? 0 : head + 1;
+            size--;
+            queued[u] = false;
+
+            double mass = r[u];
+            r[u] = 0;
+            p[u] += alpha * mass;
+            double spread = (1 - alpha) * mass;
+            pushes++;
+            if (offsets[u] == offsets[u + 1]) {
+                // Sem saída: a massa volta às sementes
+                for (int s : seeds) addResidual(s, spread * share);
+            } else {
+                for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                    addResidual(targets[i], spread * probabilities[i]);
+                }
+            }
+        }
+        return pushes;
+    }
+
+    private void addResidual(int v, double mass) {
+        if (!touched[v]) {
+            touched[v] = true;
+            touchedList[touchedCount++] = v;
+        }
+        r[v] += mass;
+        if (!queued[v] && r[v] >= epsilon * Math.max(1, offsets[v + 1] - offsets[v])) {
+            queued[v] = true;
+            queue[(head + size) % n] = v;
+            size++;
+        }
+    }
+
+    private void clear() {
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touchedList[i];
+            p[v] = 0;
+            r[v] = 0;
+            touched[v] = false;
+        }
+        touchedCount = 0;
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,232 @@
+package analise;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import estrutura.AbstractGraph;
+import estrutura.IndexedMinHeap;
+import estrutura.IntDoubleConsumer;
+
+/**
+ * Closeness e betweenness sobre caminhos mínimos ponderados, com o comprimento de cada aresta dado por um
+ * {@link DistanceTransform} aplicado ao peso da interação.
+ *
+ * As linhas são lidas com {@code forEachSuccessor} e o comprimento de cada aresta é calculado ao relaxá-la
+ * (só o maior peso, exigido pelo transform, sai de uma passada inicial), então nada do tamanho de m vai para
+ * o heap e grafos mapeados ou em disco usam o mesmo caminho. Cada fonte roda um Dijkstra com {@link IndexedMinHeap}. As fontes são divididas entre as threads de um
+ * {@link ForkJoinPool} como em {@link BrandesBetweenness}: cada bloco de fontes pega emprestado um espaço
+ * de trabalho de um {@link WorkspacePool} e, na betweenness, acumula num vetor próprio somado ao final.
+ *
+ * Dois caminhos contam como empatados quando os comprimentos diferem em no máximo {@link #TIE} (relativo),
+ * para que somas em ponto flutuante como 1/5 + 1/5 e 2/5 não separem caminhos de mesmo comprimento.
+ */
+public final class WeightedCentrality {
+    static final double TIE = 1e-10;
+    private static final int BLOCKS_PER_THREAD = 8;
+
+    private WeightedCentrality() {
+    }
+
+    /** Closeness na mesma fórmula da versão não ponderada: (r / soma das distâncias) * (r / (n - 1)). */
+    public static double[] closeness(AbstractGraph graph, DistanceTransform transform) {
+        return closeness(graph, transform, ForkJoinPool.commonPool());
+    }
+
+    public static double[] closeness(AbstractGraph graph, DistanceTransform transform, ForkJoinPool pool) {
+        return run(graph, transform, pool, false);
+    }
+
+    /** Betweenness de Brandes com caminhos mínimos ponderados (mesma escala da versão não ponderada). */
+    public static double[] betweenness(AbstractGraph graph, DistanceTransform transform) {
+        return betweenness(graph, transform, ForkJoinPool.commonPool());
+    }
+
+    public static double[] betweenness(AbstractGraph graph, DistanceTransform transform, ForkJoinPool pool) {
+        return run(graph, transform, pool, true);
+    }
+
+    private static double[] run(AbstractGraph graph, DistanceTransform transform, ForkJoinPool pool,
+            boolean betweenness) {
+        int n = graph.getVertexCount();
+        if (n == 0) return new double[0];
+
+        LengthGraph lengths = new LengthGraph(graph, transform);
+        double[] closeness = betweenness ? null : new double[n];
+        WorkspacePool<Workspace> workspaces = new WorkspacePool<>(() -> new Workspace(lengths, betweenness));
+        int grain = Math.max(1, n / (pool.getParallelism() * BLOCKS_PER_THREAD));
+        pool.invoke(new SourceRange(workspaces, closeness, 0, n, grain));
+
+        if (!betweenness) return closeness;
+        double[] cb = new double[n];
+        for (Workspace w : workspaces.all()) {
+            for (int v = 0; v < n; v++) cb[v] += w.accumulator[v];
+        }
+        return cb;
+    }
+
+    /** O grafo com o transform e o maior peso: o comprimento de cada aresta sai do peso lido na linha. */
+    private static final class LengthGraph {
+        final int n;
+        final AbstractGraph graph;
+        final DistanceTransform transform;
+        final double maxWeight;
+
+        LengthGraph(AbstractGraph graph, DistanceTransform transform) {
+            this.n = graph.getVertexCount();
+            this.graph = graph;
+            this.transform = transform;
+
+            double[] maxWeight = new double[1];
+            for (int v = 0; v < n; v++) {
+                graph.forEachSuccessor(v, (w, weight) -> {
+                    if (!(weight > 0)) throw new IllegalArgumentException("Peso não positivo na aresta: " + weight);
+                    maxWeight[0] = Math.max(maxWeight[0], weight);
+                });
+            }
+            this.maxWeight = maxWeight[0];
+        }
+
+        double length(double weight) {
+            return transform.length(weight, maxWeight);
+        }
+    }
+
+    private static final class SourceRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WorkspacePool<Workspace> workspaces;
+        private final double[] closeness;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        SourceRange(WorkspacePool<Workspace> workspaces, double[] closeness, int from, int to, int grain) {
+            this.workspaces = workspaces;
+            this.closeness = closeness;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                Workspace w = workspaces.take();
+                try {
+                    for (int s = from; s < to; s++) {
+                        w.dijkstra(s);
+                        if (closeness != null) closeness[s] = w.closeness();
+                        else w.accumulate(s);
+                        w.reset();
+                    }
+                } finally {
+                    workspaces.give(w);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SourceRange(workspaces, closeness, from, mid, grain),
+                    new SourceRange(workspaces, closeness, mid, to, grain));
+        }
+    }
+
+    /** Estado de um bloco de fontes em execução: distâncias, contagem de caminhos, ordem de fechamento e heap. */
+    private static final class Workspace {
+        final LengthGraph g;
+        final double[] accumulator;
+        final double[] dist;
+        final double[] sigma;
+        final double[] delta;
+        final boolean[] settled;
+        final int[] order; // ordem em que os vértices saem do heap (distância não decrescente)
+        final IndexedMinHeap heap;
+        int count;
+
+        // Visitantes criados uma vez; o vértice em expansão e a soma parcial ficam nos campos
+        private final IntDoubleConsumer relax;
+        private final IntDoubleConsumer pull;
+        private int current;
+        private double currentDist;
+        private double pulled;
+
+        Workspace(LengthGraph g, boolean betweenness) {
+            int n = g.n;
+            this.g = g;
+            this.accumulator = betweenness ? new double[n] : null;
+            this.dist = new double[n];
+            this.sigma = new double[n];
+            this.delta = betweenness ? new double[n] : null;
+            this.settled = new boolean[n];
+            this.order = new int[n];
+            this.heap = new IndexedMinHeap(n);
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            this.relax = (w, weight) -> {
+                if (settled[w]) return;
+                double d = currentDist + this.g.length(weight);
+                if (tie(d, dist[w])) {
+                    sigma[w] += sigma[current];
+                } else if (d < dist[w]) {
+                    dist[w] = d;
+                    sigma[w] = sigma[current];
+                    heap.insertOrDecrease(w, d);
+                }
+            };
+            this.pull = (w, weight) -> {
+                if (dist[w] > currentDist && tie(currentDist + this.g.length(weight), dist[w])) {
+                    pulled += (1.0 + delta[w]) / sigma[w];
+                }
+            };
+        }
+
+        void dijkstra(int s) {
+            dist[s] = 0;
+            sigma[s] = 1.0;
+            heap.insertOrDecrease(s, 0);
+            count = 0;
+            while (!heap.isEmpty()) {
+                int v = heap.pollMin();
+                settled[v] = true;
+                order[count++] = v;
+                current = v;
+                currentDist = dist[v];
+                g.graph.forEachSuccessor(v, relax);
+            }
+        }
+
+        double closeness() {
+            int reachable = count - 1;
+            double totalDist = 0;
+            for (int i = 1; i < count; i++) totalDist += dist[order[i]];
+            if (totalDist <= 0) return 0.0;
+            return ((double) reachable / totalDist) * ((double) reachable / (g.n - 1));
+        }
+
+        // delta[v] = sigma[v] * soma, sobre os sucessores w com dist[w] = dist[v] + len(v, w), de (1 + delta[w]) / sigma[w]
+        void accumulate(int s) {
+            for (int i = count - 1; i >= 0; i--) {
+                int v = order[i];
+                currentDist = dist[v];
+                pulled = 0;
+                g.graph.forEachSuccessor(v, pull);
+                delta[v] = sigma[v] * pulled;
+                if (v != s) accumulator[v] += delta[v];
+            }
+        }
+
+        // Limpa só o que foi tocado por esta fonte (o heap já terminou vazio)
+        void reset() {
+            for (int i = 0; i < count; i++) {
+                int v = order[i];
+                dist[v] = Double.POSITIVE_INFINITY;
+                sigma[v] = 0;
+                settled[v] = false;
+                if (delta != null) delta[v] = 0;
+            }
+        }
+    }
+
+    private static boolean tie(double a, double b) {
+        return b != Double.POSITIVE_INFINITY && Math.abs(a - b) <= TIE * b;
+    }
+}
@@ -0,0 +1,39 @@
+package analise;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Espaços de trabalho emprestados às tarefas folha de um cálculo paralelo: a folha pega um no início e o
+ * devolve no fim, então existem no máximo tantos quanto folhas rodando ao mesmo tempo (≈ nº de threads).
+ * Ao contrário de um ThreadLocal, nada fica preso às threads do pool depois do cálculo: quando o
+ * WorkspacePool sai de escopo, os espaços (vetores de tamanho n) vão junto para o GC.
+ */
+final class WorkspacePool<W> {
+    private final Supplier<W> factory;
+    private final Queue<W> idle = new ConcurrentLinkedQueue<>();
+    private final Queue<W> created = new ConcurrentLinkedQueue<>();
+
+    WorkspacePool(Supplier<W> factory) {
+        this.factory = factory;
+    }
+
+    W take() {
+        W w = idle.poll();
+        if (w == null) {
+            w = factory.get();
+            created.add(w);
+        }
+        return w;
+    }
+
+    void give(W w) {
+        idle.add(w);
+    }
+
+    /** Todos os espaços criados, para somar os acumuladores depois que as tarefas terminaram. */
+    Iterable<W> all() {
+        return created;
+    }
+}
@@ -1,6 +1,8 @@
 package app;
 
 import estrutura.AbstractGraph;
+import analise.ApproximateBetweenness;
+import analise.DistanceTransform;
 import analise.GraphCentralityMetrics;
 import analise.GraphStructureMetrics;
 import analise.GraphCommunityMetrics;
@@ -11,6 +13,39 @@ import java.util.Map;
 
 public class AnaliseService {
 
+    // Resultados da última análise, mantidos para a exportação
+    private Map<Integer, Double> pageRank;
+    private Map<Integer, Double> closeness;
+    private Map<Integer, Double> betweenness;
+    private List<List<Integer>> comunidades;
+
+    // Betweenness por amostragem (epsilon <= 0 mantém o Brandes exato)
+    private double epsilonBetweenness;
+    private double deltaBetweenness;
+
+    // Comprimento das arestas nos caminhos mínimos (null = BFS, cada aresta vale 1)
+    private DistanceTransform distancia;
+
+    /**
+     * Troca o Brandes exato, O(nm), pela estimativa de Riondato-Kornaropoulos: erro absoluto de no máximo
+     * epsilon na betweenness normalizada com probabilidade de pelo menos 1 - delta. Como só o top 5 é exibido,
+     * basta para grafos grandes.
+     */
+    public AnaliseService usarBetweennessAproximada(double epsilon, double delta) {
+        this.epsilonBetweenness = epsilon;
+        this.deltaBetweenness = delta;
+        return this;
+    }
+
+    /**
+     * Closeness e betweenness passam a usar caminhos mínimos ponderados (Dijkstra), com o peso da interação
+     * convertido em comprimento pelo transform. Tem prioridade sobre a betweenness aproximada, que é só não ponderada.
+     */
+    public AnaliseService usarDistanciasPonderadas(DistanceTransform transform) {
+        this.distancia = transform;
+        return this;
+    }
+
     public void executarAnaliseCompleta(AbstractGraph grafo, GraphLoader.GraphData data) {
         System.out.println("\n========================================");
         System.out.println("   INICIANDO ANÁLISE DE REDES COMPLEXAS");
@@ -35,18 +70,35 @@ public class AnaliseService {
         printTop5(degree, data);
 
         // PageRank
-        Map<Integer, Double> pr = GraphCentralityMetrics.calculatePageRank(grafo);
+        pageRank = GraphCentralityMetrics.calculatePageRank(grafo);
         System.out.println("\n• Top 5 Influenciadores (PageRank):");
-        printTop5(pr, data);
+        printTop5(pageRank, data);
 
         // Closeness
-        Map<Integer, Double> closeness = GraphCentralityMetrics.calculateClosenessCentrality(grafo);
-        System.out.println("\n• Top 5 Agilidade (Closeness):");
+        if (distancia != null) {
+            closeness = GraphCentralityMetrics.calculateWeightedClosenessCentrality(grafo, distancia);
+            System.out.println("\n• Top 5 Agilidade (Closeness ponderada, " + distancia + "):");
+        } else {
+            closeness = GraphCentralityMetrics.calculateClosenessCentrality(grafo);
+            System.out.println("\n• Top 5 Agilidade (Closeness):");
+        }
         printTop5(closeness, data);
 
         // Betweenness
-        System.out.println("\n• Calculando Betweenness (pode demorar)...");
-        Map<Integer, Double> betweenness = GraphCentralityMetrics.calculateBetweennessCentrality(grafo);
+        if (distancia != null) {
+            System.out.println("\n• Calculando Betweenness ponderada (" + distancia + ", pode demorar)...");
+            betweenness = GraphCentralityMetrics.calculateWeightedBetweennessCentrality(grafo, distancia);
+        } else if (epsilonBetweenness > 0) {
+            System.out.printf("\n• Estimando Betweenness (ε = %s, δ = %s)...\n", epsilonBetweenness, deltaBetweenness);
+            ApproximateBetweenness.Result estimativa = GraphCentralityMetrics
+                    .calculateApproximateBetweennessCentrality(grafo, epsilonBetweenness, deltaBetweenness);
+            System.out.println("  -> " + estimativa.getSamples() + " amostras (diâmetro <= "
+                    + estimativa.getVertexDiameterBound() + " vértices)");
+            betweenness = GraphCentralityMetrics.toMap(estimativa.getValues());
+        } else {
+            System.out.println("\n• Calculando Betweenness (pode demorar)...");
+            betweenness = GraphCentralityMetrics.calculateBetweennessCentrality(grafo);
+        }
         System.out.println("• Top 5 Pontes (Betweenness):");
         printTop5(betweenness, data);
     }
@@ -77,7 +129,7 @@ public class AnaliseService {
         int cortes = 10;
         System.out.println("• Executando Girvan-Newman (Max Splits: " + cortes + ")...");
 
-        List<List<Integer>> comunidades = GraphCommunityMetrics.detectCommunitiesGirvanNewman(grafo, cortes);
+        comunidades = GraphCommunityMetrics.detectCommunitiesGirvanNewman(grafo, cortes);
         System.out.println("• Comunidades Detectadas: " + comunidades.size());
 
         for (int i = 0; i < Math.min(3, comunidades.size()); i++) {
@@ -95,7 +147,7 @@ public class AnaliseService {
                     String[] parts = b.split(" ");
                     int u = Integer.parseInt(parts[0]);
                     int v = Integer.parseInt(parts[2]);
-                    System.out.println("  -> " + data.indexToUser.get(u) + " conecta com " + data.indexToUser.get(v));
+                    System.out.println("  -> " + data.dictionary.loginOf(u) + " conecta com " + data.dictionary.loginOf(v));
                 } catch (Exception e) {
                     System.out.println("  -> " + b);
                 }
@@ -103,13 +155,29 @@ public class AnaliseService {
         }
     }
 
+    public Map<Integer, Double> getPageRank() {
+        return pageRank;
+    }
+
+    public Map<Integer, Double> getCloseness() {
+        return closeness;
+    }
+
+    public Map<Integer, Double> getBetweenness() {
+        return betweenness;
+    }
+
+    public List<List<Integer>> getComunidades() {
+        return comunidades;
+    }
+
     // Helper para exibir top 5 formatado
     private void printTop5(Map<Integer, Double> metrics, GraphLoader.GraphData data) {
         metrics.entrySet().stream()
                 .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue()))
                 .limit(5)
                 .forEach(e -> {
-                    String name = data.indexToUser.get(e.getKey());
+                    String name = data.dictionary.loginOf(e.getKey());
                     System.out.printf("   %s: %.5f\n", name, e.getValue());
                 });
     }
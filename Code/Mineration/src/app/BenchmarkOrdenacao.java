@@ -0,0 +1,54 @@
+package app;
+
+import analise.GraphCentralityMetrics;
+import estrutura.VertexOrdering;
+import io.GraphLoader;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Mede o efeito da reordenação de vértices (localidade de cache) nas métricas baseadas em BFS.
+ * Uso:
+ *   java app.BenchmarkOrdenacao [caminho.csv] [repetições]
+ */
+public class BenchmarkOrdenacao {
+    public static void main(String[] args) throws IOException {
+        String path = args.length >= 1 ? args[0]
+                : "Code/Mineration/data/spring-projects/spring-boot/graphs/graph_integrated.csv";
+        int repeticoes = args.length >= 2 ? Integer.parseInt(args[1]) : 3;
+
+        System.out.println("[Benchmark] Carregando grafo de: " + path);
+        GraphLoader.GraphData original = GraphLoader.loadGraph(path, GraphLoader.Representation.COMPACT);
+
+        double[] base = medir("original (alfabética)", original, repeticoes);
+        for (VertexOrdering.Strategy strategy : VertexOrdering.Strategy.values()) {
+            long t0 = System.nanoTime();
+            GraphLoader.GraphData reordenado = GraphLoader.reorder(original, strategy);
+            double reordenacaoMs = (System.nanoTime() - t0) / 1e6;
+            System.out.printf(Locale.ROOT, "[Benchmark] Reordenação %s: %.1f ms%n", strategy, reordenacaoMs);
+
+            double[] tempos = medir(strategy.name(), reordenado, repeticoes);
+            System.out.printf(Locale.ROOT, "[Benchmark]   ganho closeness: %.2fx | betweenness: %.2fx%n",
+                    base[0] / tempos[0], base[1] / tempos[1]);
+        }
+    }
+
+    // Retorna o melhor tempo (ms) de {closeness, betweenness} entre as repetições
+    private static double[] medir(String rotulo, GraphLoader.GraphData data, int repeticoes) {
+        double closeness = Double.MAX_VALUE;
+        double betweenness = Double.MAX_VALUE;
+        for (int r = 0; r < repeticoes; r++) {
+            long t0 = System.nanoTime();
+            GraphCentralityMetrics.calculateClosenessCentrality(data.graph);
+            long t1 = System.nanoTime();
+            GraphCentralityMetrics.calculateBetweennessCentrality(data.graph);
+            long t2 = System.nanoTime();
+            closeness = Math.min(closeness, (t1 - t0) / 1e6);
+            betweenness = Math.min(betweenness, (t2 - t1) / 1e6);
+        }
+        System.out.printf(Locale.ROOT, "[Benchmark] %-22s closeness: %8.1f ms | betweenness: %8.1f ms%n",
+                rotulo, closeness, betweenness);
+        return new double[]{closeness, betweenness};
+    }
+}
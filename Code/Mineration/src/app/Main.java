@@ -1,18 +1,32 @@
 package app;
 
+import analise.DistanceTransform;
 import estrutura.AbstractGraph;
+import estrutura.GraphTraversal;
+import io.GraphExporter;
 import io.GraphLoader;
+import io.GraphSnapshot;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 public class Main {
+    // Acima disso a betweenness é estimada por amostragem (erro <= 0.01 na escala normalizada, com 90% de confiança)
+    private static final int LIMITE_BETWEENNESS_EXATA = 20_000;
+
+    // Opção: --distancia=INVERSE|NEGATIVE_LOG|HOPS faz closeness e betweenness usarem caminhos mínimos
+    // ponderados (Dijkstra), com o peso da interação convertido em comprimento (ver analise.DistanceTransform)
     public static void main(String[] args) {
         try {
+            DistanceTransform distancia = lerDistancia(args);
+
             String path = "Code/Mineration/data/spring-projects/spring-boot/graphs/graph_integrated.csv";
             String saidaGephi = "resultado_final.gexf";
             
             System.out.println("Carregando grafo de: " + path);
             
-            GraphLoader.GraphData data = GraphLoader.loadGraph(path, false);
+            GraphLoader.GraphData data = carregarComSnapshot(path);
             AbstractGraph grafo = data.graph;
 
             System.out.println("Grafo carregado com sucesso!");
@@ -20,11 +34,26 @@ public class Main {
             System.out.println("- Arestas: " + grafo.getEdgeCount());
             System.out.println("- Conexo? " + (grafo.isConnected() ? "Sim" : "Não"));
 
+            GraphTraversal travessia = new GraphTraversal(grafo);
+            int[] fracas = travessia.weaklyConnectedComponents();
+            int[] fortes = travessia.stronglyConnectedComponents();
+            System.out.println("- Componentes fracamente conexas: " + GraphTraversal.countComponents(fracas)
+                    + " (maior: " + maiorComponente(fracas) + " vértices)");
+            System.out.println("- Componentes fortemente conexas: " + GraphTraversal.countComponents(fortes)
+                    + " (maior: " + maiorComponente(fortes) + " vértices)");
+
             AnaliseService analisador = new AnaliseService();
+            if (grafo.getVertexCount() > LIMITE_BETWEENNESS_EXATA) analisador.usarBetweennessAproximada(0.01, 0.1);
+            if (distancia != null) analisador.usarDistanciasPonderadas(distancia);
             analisador.executarAnaliseCompleta(grafo, data);
 
             System.out.println("\n[4] EXPORTAÇÃO");
-            grafo.exportToGEPHI(saidaGephi);
+            new GraphExporter(data)
+                    .addNodeColumn("pagerank", analisador.getPageRank())
+                    .addNodeColumn("closeness", analisador.getCloseness())
+                    .addNodeColumn("betweenness", analisador.getBetweenness())
+                    .addNodeColumn("comunidade", GraphExporter.communityLabels(grafo.getVertexCount(), analisador.getComunidades()))
+                    .export(Path.of(saidaGephi), GraphExporter.Format.GEXF);
             System.out.println("Arquivo para Gephi gerado: " + saidaGephi);
 
         } catch (IOException e) {
@@ -34,4 +63,65 @@ public class Main {
             e.printStackTrace();
         }
     }
+
+    private static DistanceTransform lerDistancia(String[] args) {
+        DistanceTransform distancia = null;
+        for (String arg : args) {
+            if (!arg.startsWith("--distancia=")) throw new IllegalArgumentException("Opção desconhecida: " + arg);
+            String nome = arg.substring("--distancia=".length()).toUpperCase();
+            try {
+                distancia = DistanceTransform.valueOf(nome);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Distância inválida: " + nome + " (use "
+                        + Arrays.toString(DistanceTransform.values()) + ")");
+            }
+        }
+        return distancia;
+    }
+
+    private static int maiorComponente(int[] rotulos) {
+        int maior = 0;
+        for (int tamanho : GraphTraversal.componentSizes(rotulos)) maior = Math.max(maior, tamanho);
+        return maior;
+    }
+
+    // Prefere a lista binária (.bin) gerada pelo BuildGraphs, que já traz count e tags;
+    // sem ela, usa o snapshot (.csr) ao lado do CSV quando ele estiver atualizado, ou lê o CSV e gera o snapshot
+    private static GraphLoader.GraphData carregarComSnapshot(String csvPath) throws IOException {
+        Path csv = Path.of(csvPath);
+        Path binario = Path.of(csvPath.replaceFirst("\\.csv$", "") + ".bin");
+        if (Files.exists(binario) && (!Files.exists(csv)
+                || Files.getLastModifiedTime(binario).compareTo(Files.getLastModifiedTime(csv)) >= 0)) {
+            System.out.println("Usando lista binária de arestas: " + binario);
+            return GraphLoader.loadGraph(binario.toString());
+        }
+
+        Path snapshot = Path.of(csvPath.replaceFirst("\\.csv$", "") + ".csr");
+
+        if (Files.exists(snapshot) && Files.exists(csv)
+                && Files.getLastModifiedTime(snapshot).compareTo(Files.getLastModifiedTime(csv)) >= 0) {
+            try {
+                if (Files.size(snapshot) > Integer.MAX_VALUE) {
+                    // Grande demais para mapear: lê as arestas do disco sob demanda com cache de 1/4 do heap
+                    long cache = Runtime.getRuntime().maxMemory() / 4;
+                    System.out.println("Usando snapshot binário em disco (cache de " + (cache >> 20) + " MB): " + snapshot);
+                    return GraphSnapshot.openPaged(snapshot, cache);
+                }
+                System.out.println("Usando snapshot binário: " + snapshot);
+                return GraphSnapshot.load(snapshot);
+            } catch (IOException e) {
+                // Snapshot corrompido ou de outra versão: volta ao CSV e grava um novo por cima
+                System.err.println("Aviso: snapshot inválido (" + e.getMessage() + "), relendo o CSV");
+            }
+        }
+
+        GraphLoader.GraphData data = GraphLoader.loadGraph(csvPath);
+        try {
+            GraphSnapshot.write(data, snapshot);
+            System.out.println("Snapshot binário gerado: " + snapshot);
+        } catch (IOException e) {
+            System.err.println("Aviso: não foi possível gravar o snapshot (" + e.getMessage() + ")");
+        }
+        return data;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package app;
+
+import analise.PersonalizedPageRank;
+import io.GraphLoader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * "Quem está mais próximo deste contribuidor?": PageRank personalizado a partir de um ou mais logins,
+ * por push local (o custo depende da tolerância, não do tamanho do grafo). Pensado para sugerir revisores.
+ * O motor é montado uma vez por grafo e reaproveitado entre as consultas; não é thread-safe.
+ * Uso:
+ *   java app.ProximidadeService login1[,login2...] [k] [caminho.csv]
+ */
+public class ProximidadeService {
+    private static final double DAMPING = 0.85;
+    private static final double EPSILON = 1e-6;
+
+    private final GraphLoader.GraphData data;
+    private final PersonalizedPageRank motor;
+
+    public ProximidadeService(GraphLoader.GraphData data) {
+        this(data, DAMPING, EPSILON);
+    }
+
+    public ProximidadeService(GraphLoader.GraphData data, double damping, double epsilon) {
+        this.data = data;
+        this.motor = new PersonalizedPageRank(data.graph, damping, epsilon);
+    }
+
+    /** Um usuário relacionado e o seu score de PageRank personalizado. */
+    public static class Relacionado {
+        public final String login;
+        public final double score;
+
+        Relacionado(String login, double score) {
+            this.login = login;
+            this.score = score;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s (%.6f)", login, score);
+        }
+    }
+
+    /** Os k usuários mais próximos dos logins informados (sem eles mesmos). */
+    public List<Relacionado> maisProximos(int k, String... logins) {
+        int[] sementes = new int[logins.length];
+        for (int i = 0; i < logins.length; i++) {
+            sementes[i] = data.dictionary.indexOf(logins[i]);
+            if (sementes[i] < 0) throw new IllegalArgumentException("Login inexistente no grafo: " + logins[i]);
+        }
+        PersonalizedPageRank.Ranking ranking = motor.topK(k, sementes);
+        List<Relacionado> resultado = new ArrayList<>(ranking.getVertices().length);
+        for (int i = 0; i < ranking.getVertices().length; i++) {
+            resultado.add(new Relacionado(data.dictionary.loginOf(ranking.getVertices()[i]), ranking.getScores()[i]));
+        }
+        return resultado;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: java app.ProximidadeService login1[,login2...] [k] [caminho.csv]");
+            return;
+        }
+        String[] logins = args[0].split(",");
+        int k = args.length >= 2 ? Integer.parseInt(args[1]) : 10;
+        String path = args.length >= 3 ? args[2]
+                : "Code/Mineration/data/spring-projects/spring-boot/graphs/graph_integrated.csv";
+
+        ProximidadeService servico = new ProximidadeService(GraphLoader.loadGraph(path));
+        long t0 = System.nanoTime();
+        List<Relacionado> relacionados = servico.maisProximos(k, logins);
+        System.out.printf(Locale.ROOT, "[Proximidade] %s: %d relacionados em %.2f ms%n",
+                Arrays.toString(logins), relacionados.size(), (System.nanoTime() - t0) / 1e6);
+        for (Relacionado r : relacionados) System.out.println("   " + r);
+    }
+}
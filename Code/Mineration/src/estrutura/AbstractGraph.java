@@ -2,7 +2,6 @@ package estrutura;
 
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 public abstract class AbstractGraph {
@@ -23,6 +22,18 @@ public abstract class AbstractGraph {
         }
     }
 
+    /**
+     * Usa o vetor de pesos de vértice informado sem copiá-lo (ex.: versões de um mesmo grafo que o compartilham).
+     */
+    protected AbstractGraph(int numVertices, double[] vertexWeights) {
+        if (vertexWeights.length != numVertices) {
+            throw new IllegalArgumentException("Pesos de vértice com " + vertexWeights.length + " posições para " + numVertices + " vértices.");
+        }
+        this.numVertices = numVertices;
+        this.numEdges = 0;
+        this.vertexWeights = vertexWeights;
+    }
+
     protected void validateVertex(int v) {
         if (v < 0 || v >= numVertices) {
             throw new IndexOutOfBoundsException("Vértice inválido: " + v + ". Deve estar entre 0 e " + (numVertices - 1));
@@ -47,6 +58,46 @@ public abstract class AbstractGraph {
     public abstract List<Integer> getSuccessors(int v);
     public abstract List<Integer> getPredecessors(int v);
 
+    /**
+     * Percorre os sucessores de v entregando (vizinho, peso) ao consumidor.
+     * A implementação padrão usa getSuccessors/getEdgeWeight; as subclasses sobrescrevem
+     * com uma varredura direta da estrutura interna, sem alocar listas.
+     */
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        for (int w : getSuccessors(v)) {
+            consumer.accept(w, getEdgeWeight(v, w));
+        }
+    }
+
+    /**
+     * Percorre os antecessores de v entregando (vizinho, peso da aresta vizinho -> v) ao consumidor.
+     */
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        for (int u : getPredecessors(v)) {
+            consumer.accept(u, getEdgeWeight(u, v));
+        }
+    }
+
+    /**
+     * Sucessores de v em um vetor primitivo, na mesma ordem de {@link #successorWeights(int)}.
+     */
+    public int[] successorsArray(int v) {
+        int[] result = new int[getVertexOutDegree(v)];
+        int[] pos = {0};
+        forEachSuccessor(v, (w, weight) -> result[pos[0]++] = w);
+        return result;
+    }
+
+    /**
+     * Pesos das arestas de saída de v, alinhados com {@link #successorsArray(int)}.
+     */
+    public double[] successorWeights(int v) {
+        double[] result = new double[getVertexOutDegree(v)];
+        int[] pos = {0};
+        forEachSuccessor(v, (w, weight) -> result[pos[0]++] = weight);
+        return result;
+    }
+
     public boolean isSucessor(int u, int v) {
         validateVertex(u);
         validateVertex(v);
@@ -89,48 +140,23 @@ public abstract class AbstractGraph {
     }
 
     public boolean isEmptyGraph() {
-        return numEdges == 0;
+        return getEdgeCount() == 0;
     }
 
     public boolean isCompleteGraph() {
-        return numEdges == (numVertices * (numVertices - 1));
+        return getEdgeCount() == (numVertices * (numVertices - 1));
     }
 
     public boolean isConnected() {
-        if (numVertices == 0) return true;
-        
-        boolean[] visited = new boolean[numVertices];
-        List<Integer> queue = new ArrayList<>();
-        
-        // Começa do vértice 0
-        visited[0] = true;
-        queue.add(0);
-        int visitedCount = 0;
-        
-        while (!queue.isEmpty()) {
-            int u = queue.remove(0);
-            visitedCount++;
-            
-            // Verifica sucessores
-            for (int v : getSuccessors(u)) {
-                if (!visited[v]) {
-                    visited[v] = true;
-                    queue.add(v);
-                }
-            }
-            
-            // Verifica antecessores
-            for (int v : getPredecessors(u)) {
-                if (!visited[v]) {
-                    visited[v] = true;
-                    queue.add(v);
-                }
-            }
-        }
-        
-        return visitedCount == numVertices;
+        // Conectividade fraca (ignora o sentido das arestas), via BFS do motor de travessia
+        return new GraphTraversal(this).isWeaklyConnected();
     }
 
+    /**
+     * Exportação mínima (rótulos "Vértice i", sem métricas, erros apenas impressos).
+     * @deprecated use {@code io.GraphExporter}, que grava logins, colunas de métricas, GraphML e gzip
+     */
+    @Deprecated
     public void exportToGEPHI(String path) {
         try (FileWriter writer = new FileWriter(path)) {
             writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
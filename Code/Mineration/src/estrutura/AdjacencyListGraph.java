@@ -83,4 +83,40 @@ public class AdjacencyListGraph extends AbstractGraph {
         validateVertex(v);
         return new ArrayList<>(adjIn.get(v).keySet());
     }
+
+    @Override
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        for (Map.Entry<Integer, Double> e : adjOut.get(v).entrySet()) {
+            consumer.accept(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        for (Map.Entry<Integer, Double> e : adjIn.get(v).entrySet()) {
+            consumer.accept(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public int[] successorsArray(int v) {
+        validateVertex(v);
+        Map<Integer, Double> out = adjOut.get(v);
+        int[] result = new int[out.size()];
+        int i = 0;
+        for (int w : out.keySet()) result[i++] = w;
+        return result;
+    }
+
+    @Override
+    public double[] successorWeights(int v) {
+        validateVertex(v);
+        Map<Integer, Double> out = adjOut.get(v);
+        double[] result = new double[out.size()];
+        int i = 0;
+        for (double w : out.values()) result[i++] = w;
+        return result;
+    }
 }
\ No newline at end of file
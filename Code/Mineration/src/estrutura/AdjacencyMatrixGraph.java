@@ -1,32 +1,85 @@
 package estrutura;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Matriz de adjacência compacta: a presença de cada aresta ocupa 1 bit (long[] em ordem de linha)
+ * e os pesos ficam numa tabela esparsa de chaves primitivas, ocupando espaço apenas para as arestas existentes.
+ * Os graus de entrada e saída são mantidos em contadores atualizados a cada alteração.
+ */
 public class AdjacencyMatrixGraph extends AbstractGraph {
-    private Double[][] matrix;
+    private final long[] bits;
+    private final WeightTable weights;
+    private final int[] inDegree;
+    private final int[] outDegree;
 
     public AdjacencyMatrixGraph(int numVertices) {
         super(numVertices);
-        this.matrix = new Double[numVertices][numVertices];
+        long cells = (long) numVertices * numVertices;
+        long words = (cells + 63) >>> 6;
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Número de vértices grande demais para matriz: " + numVertices);
+        }
+        this.bits = new long[(int) words];
+        this.weights = new WeightTable();
+        this.inDegree = new int[numVertices];
+        this.outDegree = new int[numVertices];
+    }
+
+    private long cell(int u, int v) {
+        return (long) u * numVertices + v;
+    }
+
+    private boolean testBit(long i) {
+        return (bits[(int) (i >>> 6)] & (1L << i)) != 0;
+    }
+
+    private void setBit(long i) {
+        bits[(int) (i >>> 6)] |= 1L << i;
+    }
+
+    private void clearBit(long i) {
+        bits[(int) (i >>> 6)] &= ~(1L << i);
+    }
+
+    /** Próximo bit ligado em [from, to), ou -1 se não houver. */
+    private long nextSetBit(long from, long to) {
+        if (from >= to) return -1;
+        int wordIndex = (int) (from >>> 6);
+        long word = bits[wordIndex] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                long i = ((long) wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return i < to ? i : -1;
+            }
+            wordIndex++;
+            if (((long) wordIndex << 6) >= to) return -1;
+            word = bits[wordIndex];
+        }
     }
 
     @Override
     public boolean hasEdge(int u, int v) {
         validateVertex(u);
         validateVertex(v);
-        return matrix[u][v] != null;
+        return testBit(cell(u, v));
     }
 
     @Override
     public void addEdge(int u, int v) {
         validateVertex(u);
         validateVertex(v);
-        
+
         if (u == v) return;
         if (hasEdge(u, v)) return;
 
-        matrix[u][v] = 1.0;
+        long c = cell(u, v);
+        setBit(c);
+        weights.put(c, 1.0);
+        outDegree[u]++;
+        inDegree[v]++;
         numEdges++;
     }
 
@@ -34,9 +87,13 @@ public class AdjacencyMatrixGraph extends AbstractGraph {
     public void removeEdge(int u, int v) {
         validateVertex(u);
         validateVertex(v);
-        
+
         if (hasEdge(u, v)) {
-            matrix[u][v] = null;
+            long c = cell(u, v);
+            clearBit(c);
+            weights.remove(c);
+            outDegree[u]--;
+            inDegree[v]--;
             numEdges--;
         }
     }
@@ -45,12 +102,16 @@ public class AdjacencyMatrixGraph extends AbstractGraph {
     public void setEdgeWeight(int u, int v, double w) {
         validateVertex(u);
         validateVertex(v);
-        
-        if (!hasEdge(u, v)) {
+
+        long c = cell(u, v);
+        if (!testBit(c)) {
             if (u == v) return;
+            setBit(c);
+            outDegree[u]++;
+            inDegree[v]++;
             numEdges++;
         }
-        matrix[u][v] = w;
+        weights.put(c, w);
     }
 
     @Override
@@ -60,39 +121,29 @@ public class AdjacencyMatrixGraph extends AbstractGraph {
         if (!hasEdge(u, v)) {
             throw new RuntimeException("Aresta não existe: " + u + " -> " + v);
         }
-        return matrix[u][v];
+        return weights.get(cell(u, v));
     }
 
     @Override
     public int getVertexInDegree(int u) {
         validateVertex(u);
-        int degree = 0;
-        for (int i = 0; i < numVertices; i++) {
-            if (matrix[i][u] != null) {
-                degree++;
-            }
-        }
-        return degree;
+        return inDegree[u];
     }
 
     @Override
     public int getVertexOutDegree(int u) {
         validateVertex(u);
-        int degree = 0;
-        for (int i = 0; i < numVertices; i++) {
-            if (matrix[u][i] != null) {
-                degree++;
-            }
-        }
-        return degree;
+        return outDegree[u];
     }
 
     @Override
     public List<Integer> getSuccessors(int v) {
         validateVertex(v);
-        List<Integer> succ = new ArrayList<>();
-        for (int i = 0; i < numVertices; i++) {
-            if (matrix[v][i] != null) succ.add(i);
+        List<Integer> succ = new ArrayList<>(outDegree[v]);
+        long rowStart = cell(v, 0);
+        long rowEnd = rowStart + numVertices;
+        for (long i = nextSetBit(rowStart, rowEnd); i >= 0; i = nextSetBit(i + 1, rowEnd)) {
+            succ.add((int) (i - rowStart));
         }
         return succ;
     }
@@ -100,10 +151,118 @@ public class AdjacencyMatrixGraph extends AbstractGraph {
     @Override
     public List<Integer> getPredecessors(int v) {
         validateVertex(v);
-        List<Integer> pred = new ArrayList<>();
-        for (int i = 0; i < numVertices; i++) {
-            if (matrix[i][v] != null) pred.add(i);
+        List<Integer> pred = new ArrayList<>(inDegree[v]);
+        for (int i = 0; i < numVertices && pred.size() < inDegree[v]; i++) {
+            if (testBit(cell(i, v))) pred.add(i);
         }
         return pred;
     }
-}
\ No newline at end of file
+
+    @Override
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        long rowStart = cell(v, 0);
+        long rowEnd = rowStart + numVertices;
+        for (long i = nextSetBit(rowStart, rowEnd); i >= 0; i = nextSetBit(i + 1, rowEnd)) {
+            consumer.accept((int) (i - rowStart), weights.get(i));
+        }
+    }
+
+    @Override
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        int remaining = inDegree[v];
+        for (int i = 0; i < numVertices && remaining > 0; i++) {
+            long c = cell(i, v);
+            if (testBit(c)) {
+                consumer.accept(i, weights.get(c));
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Tabela hash de endereçamento aberto (sondagem linear) de célula da matriz -> peso,
+     * com chaves e valores primitivos. A remoção desloca os elementos seguintes (sem lápides).
+     */
+    private static class WeightTable {
+        private static final long EMPTY = -1L;
+        private long[] keys;
+        private double[] values;
+        private int size;
+
+        WeightTable() {
+            keys = new long[16];
+            values = new double[16];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        double get(long key) {
+            int i = slot(key);
+            return keys[i] == EMPTY ? 0.0 : values[i];
+        }
+
+        void put(long key, double value) {
+            int i = slot(key);
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                size++;
+                values[i] = value;
+                if (size * 4 >= keys.length * 3) rehash(keys.length * 2);
+            } else {
+                values[i] = value;
+            }
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key);
+            if (keys[i] == EMPTY) return;
+            keys[i] = EMPTY;
+            size--;
+            // Desloca para trás os elementos do mesmo agrupamento que ficariam inalcançáveis
+            int j = (i + 1) & mask;
+            while (keys[j] != EMPTY) {
+                long k = keys[j];
+                int home = hash(k) & mask;
+                boolean reachable = (j > i) ? (home <= i || home > j) : (home <= i && home > j);
+                if (reachable) {
+                    keys[i] = k;
+                    values[i] = values[j];
+                    keys[j] = EMPTY;
+                    i = j;
+                }
+                j = (j + 1) & mask;
+            }
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new long[capacity];
+            values = new double[capacity];
+            Arrays.fill(keys, EMPTY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int s = slot(oldKeys[i]);
+                    keys[s] = oldKeys[i];
+                    values[s] = oldValues[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package estrutura;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo imutável com adjacência comprimida no estilo WebGraph.
+ * Cada linha (sucessores ou antecessores, ordenados) é gravada como uma sequência de varints:
+ * o primeiro vizinho em valor absoluto e os seguintes como gap - 1 em relação ao anterior,
+ * cada um seguido do índice do seu peso numa paleta de pesos distintos (os pesos da mineração se repetem muito).
+ * Graus e offsets das linhas ficam em vetores primitivos, então grau é O(1) e o acesso a uma linha é direto.
+ *
+ * O fluxo de bytes fica em blocos de até 1 GB endereçados por offsets long, então pode passar de 2^31 bytes
+ * (grafos da organização inteira). hasEdge/getEdgeWeight decodificam a linha de saída sequencialmente: O(grau)
+ * para linhas curtas; linhas com ao menos {@link #SKIP_INTERVAL} vizinhos guardam, a cada SKIP_INTERVAL
+ * entradas, o vizinho anterior e a posição no fluxo, então a busca é binária nesse índice e decodifica no
+ * máximo SKIP_INTERVAL entradas.
+ */
+public class CompressedAdjacencyGraph extends AbstractGraph {
+    private static final int CHUNK_BITS = 30;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    /** Entradas entre dois pontos do índice de salto nas linhas de saída. */
+    static final int SKIP_INTERVAL = 64;
+
+    private final byte[][] chunks;
+    private final long[] outStart;
+    private final long[] inStart;
+    private final int[] outDegree;
+    private final int[] inDegree;
+    private final double[] palette;
+
+    // Índice de salto: pontos da linha u em skipOffsets[u]..skipOffsets[u + 1]; o ponto k retoma a decodificação
+    // na entrada (k + 1)·SKIP_INTERVAL, a partir do vizinho anterior (skipVertex) e da posição dela (skipPos)
+    private final int[] skipOffsets;
+    private final int[] skipVertex;
+    private final long[] skipPos;
+
+    /**
+     * Comprime a adjacência de qualquer outra implementação de grafo.
+     */
+    public CompressedAdjacencyGraph(AbstractGraph source) {
+        super(source.getVertexCount());
+        int n = numVertices;
+        this.outStart = new long[n];
+        this.inStart = new long[n];
+        this.outDegree = new int[n];
+        this.inDegree = new int[n];
+        this.skipOffsets = new int[n + 1];
+
+        Encoder encoder = new Encoder(source.getEdgeCount());
+        RowBuffer row = new RowBuffer();
+
+        for (int v = 0; v < n; v++) {
+            row.clear();
+            source.forEachSuccessor(v, row::add);
+            outStart[v] = encoder.sink.size();
+            outDegree[v] = row.size;
+            encoder.beginRow(row.size, true);
+            row.encode(encoder);
+            skipOffsets[v + 1] = encoder.skipCount;
+        }
+        for (int v = 0; v < n; v++) {
+            row.clear();
+            source.forEachPredecessor(v, row::add);
+            inStart[v] = encoder.sink.size();
+            inDegree[v] = row.size;
+            encoder.beginRow(row.size, false);
+            row.encode(encoder);
+        }
+
+        this.chunks = encoder.sink.finish();
+        this.palette = encoder.palette();
+        this.skipVertex = Arrays.copyOf(encoder.skipVertex, encoder.skipCount);
+        this.skipPos = Arrays.copyOf(encoder.skipPos, encoder.skipCount);
+        this.numEdges = source.getEdgeCount();
+        for (int v = 0; v < n; v++) {
+            this.vertexWeights[v] = source.getVertexWeight(v);
+        }
+    }
+
+    /**
+     * Comprime direto de uma lista de arestas já ordenada por (origem, destino), sem repetições nem laços
+     * (o formato entregue pelos leitores do GraphLoader), sem montar antes outra representação completa:
+     * as linhas de saída são codificadas na ordem dos vetores e as de entrada saem de uma ordenação por
+     * contagem pelo destino, que mantém as origens de cada linha em ordem crescente.
+     */
+    public CompressedAdjacencyGraph(int numVertices, int[] sources, int[] targets, double[] weights, int edgeCount) {
+        super(numVertices);
+        int n = numVertices;
+        if (edgeCount < 0 || edgeCount > sources.length || edgeCount > targets.length || edgeCount > weights.length) {
+            throw new IllegalArgumentException("Quantidade de arestas inválida: " + edgeCount);
+        }
+        this.outStart = new long[n];
+        this.inStart = new long[n];
+        this.outDegree = new int[n];
+        this.inDegree = new int[n];
+        this.skipOffsets = new int[n + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            int u = sources[i];
+            int v = targets[i];
+            validateVertex(u);
+            validateVertex(v);
+            if (u == v) throw new IllegalArgumentException("Laço na aresta " + i + ": " + u + " -> " + v);
+            if (i > 0 && (u < sources[i - 1] || (u == sources[i - 1] && v <= targets[i - 1]))) {
+                throw new IllegalArgumentException("Arestas fora da ordem (origem, destino) na posição " + i);
+            }
+            outDegree[u]++;
+            inDegree[v]++;
+        }
+
+        Encoder encoder = new Encoder(edgeCount);
+
+        int e = 0;
+        for (int v = 0; v < n; v++) {
+            outStart[v] = encoder.sink.size();
+            encoder.beginRow(outDegree[v], true);
+            for (int end = e + outDegree[v]; e < end; e++) encoder.edge(targets[e], weights[e]);
+            skipOffsets[v + 1] = encoder.skipCount;
+        }
+
+        // Ordenação por contagem pelo destino: estável, então cada linha de entrada já sai ordenada pela origem
+        int[] position = new int[n + 1];
+        for (int v = 0; v < n; v++) position[v + 1] = position[v] + inDegree[v];
+        int[] byTarget = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) byTarget[position[targets[i]]++] = i;
+
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            inStart[v] = encoder.sink.size();
+            encoder.beginRow(inDegree[v], false);
+            for (int end = k + inDegree[v]; k < end; k++) {
+                int edge = byTarget[k];
+                encoder.edge(sources[edge], weights[edge]);
+            }
+        }
+
+        this.chunks = encoder.sink.finish();
+        this.palette = encoder.palette();
+        this.skipVertex = Arrays.copyOf(encoder.skipVertex, encoder.skipCount);
+        this.skipPos = Arrays.copyOf(encoder.skipPos, encoder.skipCount);
+        this.numEdges = edgeCount;
+    }
+
+    /** Bytes ocupados pela adjacência comprimida (fluxo de varints + paleta + índice de salto). */
+    public long getCompressedSizeInBytes() {
+        long bytes = 8L * palette.length + 12L * skipVertex.length;
+        for (byte[] chunk : chunks) bytes += chunk.length;
+        return bytes;
+    }
+
+    /** Média de bits por aresta armazenada (cada aresta aparece nas duas direções). */
+    public double getBitsPerEdge() {
+        return numEdges == 0 ? 0.0 : 8.0 * getCompressedSizeInBytes() / numEdges;
+    }
+
+    // ---------------- codificação ----------------
+
+    /** Fluxo de bytes em blocos de até CHUNK_SIZE; posições são long. */
+    private static class ByteSink {
+        private final List<byte[]> full = new ArrayList<>();
+        private long expected; // estimativa do total ainda por escrever, para dimensionar o próximo bloco
+        private byte[] current;
+        private int pos;
+
+        ByteSink(long expectedBytes) {
+            this.expected = expectedBytes;
+            this.current = new byte[blockCapacity()];
+        }
+
+        private int blockCapacity() {
+            return (int) Math.min(CHUNK_SIZE, Math.max(16, expected));
+        }
+
+        long size() {
+            return (long) full.size() * CHUNK_SIZE + pos;
+        }
+
+        void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((byte) value);
+        }
+
+        private void write(byte b) {
+            if (pos == current.length) {
+                if (current.length < CHUNK_SIZE) {
+                    current = Arrays.copyOf(current, (int) Math.min(CHUNK_SIZE, 2L * current.length));
+                } else {
+                    full.add(current);
+                    expected = Math.max(16, expected - CHUNK_SIZE);
+                    current = new byte[blockCapacity()];
+                    pos = 0;
+                }
+            }
+            current[pos++] = b;
+        }
+
+        /** Blocos finais: todos com CHUNK_SIZE bytes, menos o último, cortado no tamanho usado. */
+        byte[][] finish() {
+            full.add(Arrays.copyOf(current, pos));
+            current = null;
+            return full.toArray(new byte[0][]);
+        }
+    }
+
+    /** Estado da construção: fluxo, paleta de pesos e índice de salto das linhas de saída. */
+    private static class Encoder {
+        final ByteSink sink;
+        final Map<Double, Integer> paletteIndex = new HashMap<>();
+        final List<Double> paletteValues = new ArrayList<>();
+        int[] skipVertex = new int[16];
+        long[] skipPos = new long[16];
+        int skipCount;
+
+        private int previous;
+        private int index;
+        private boolean skipRow;
+
+        Encoder(long edgeCount) {
+            // ~3 bytes por aresta em cada direção; em long para não estourar com centenas de milhões de arestas
+            this.sink = new ByteSink(6L * edgeCount);
+        }
+
+        void beginRow(int degree, boolean outRow) {
+            previous = -1;
+            index = 0;
+            skipRow = outRow && degree >= SKIP_INTERVAL;
+        }
+
+        /** Grava o vizinho (gap em relação ao anterior da linha) e o índice do peso na paleta. */
+        void edge(int vertex, double w) {
+            if (skipRow && index > 0 && index % SKIP_INTERVAL == 0) {
+                if (skipCount == skipVertex.length) {
+                    skipVertex = Arrays.copyOf(skipVertex, skipCount * 2);
+                    skipPos = Arrays.copyOf(skipPos, skipCount * 2);
+                }
+                skipVertex[skipCount] = previous;
+                skipPos[skipCount++] = sink.size();
+            }
+            sink.writeVarint(previous < 0 ? vertex : vertex - previous - 1);
+            Integer idx = paletteIndex.get(w);
+            if (idx == null) {
+                idx = paletteValues.size();
+                paletteIndex.put(w, idx);
+                paletteValues.add(w);
+            }
+            sink.writeVarint(idx);
+            previous = vertex;
+            index++;
+        }
+
+        double[] palette() {
+            double[] palette = new double[paletteValues.size()];
+            for (int i = 0; i < palette.length; i++) palette[i] = paletteValues.get(i);
+            return palette;
+        }
+    }
+
+    /** Linha temporária usada na construção, ordenada por vizinho antes de ser codificada. */
+    private static class RowBuffer {
+        long[] packed = new long[16];
+        double[] weights = new double[16];
+        int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(int vertex, double weight) {
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            // vizinho nos 32 bits altos e posição original nos baixos: ordena por vizinho sem perder o peso
+            packed[size] = ((long) vertex << 32) | size;
+            weights[size] = weight;
+            size++;
+        }
+
+        void encode(Encoder encoder) {
+            Arrays.sort(packed, 0, size);
+            for (int i = 0; i < size; i++) {
+                encoder.edge((int) (packed[i] >>> 32), weights[(int) packed[i]]);
+            }
+        }
+    }
+
+    // ---------------- decodificação ----------------
+
+    /** Cursor sequencial sobre uma linha comprimida. */
+    private final class RowCursor {
+        private long pos;
+        private int remaining;
+        private int vertex;
+        private double weight;
+
+        /** @param previous vizinho anterior à primeira entrada a decodificar; -1 no início da linha */
+        RowCursor(long start, int degree, int previous) {
+            this.pos = start;
+            this.remaining = degree;
+            this.vertex = previous;
+        }
+
+        boolean next() {
+            if (remaining == 0) return false;
+            int gap = readVarint();
+            vertex = vertex < 0 ? gap : vertex + gap + 1;
+            weight = palette[readVarint()];
+            remaining--;
+            return true;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = chunks[(int) (pos >>> CHUNK_BITS)][(int) pos & CHUNK_MASK];
+                pos++;
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private void forEachInRow(long start, int degree, IntDoubleConsumer consumer) {
+        RowCursor c = new RowCursor(start, degree, -1);
+        while (c.next()) consumer.accept(c.vertex, c.weight);
+    }
+
+    /** Cursor posicionado na aresta u -> v, ou null se ela não existir. */
+    private RowCursor seek(int u, int v) {
+        RowCursor c;
+        int lo = skipOffsets[u];
+        int hi = skipOffsets[u + 1] - 1;
+        // último ponto de salto cujo vizinho anterior é < v: a partir dele, no máximo SKIP_INTERVAL entradas
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (skipVertex[mid] < v) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (found < 0) {
+            c = new RowCursor(outStart[u], outDegree[u], -1);
+        } else {
+            int skipped = (found - skipOffsets[u] + 1) * SKIP_INTERVAL;
+            c = new RowCursor(skipPos[found], outDegree[u] - skipped, skipVertex[found]);
+        }
+        while (c.next()) {
+            if (c.vertex == v) return c;
+            if (c.vertex > v) break;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasEdge(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        return seek(u, v) != null;
+    }
+
+    @Override
+    public void addEdge(int u, int v) {
+        throw new UnsupportedOperationException("Grafo comprimido é imutável.");
+    }
+
+    @Override
+    public void removeEdge(int u, int v) {
+        throw new UnsupportedOperationException("Grafo comprimido é imutável.");
+    }
+
+    @Override
+    public void setEdgeWeight(int u, int v, double w) {
+        throw new UnsupportedOperationException("Grafo comprimido é imutável.");
+    }
+
+    @Override
+    public double getEdgeWeight(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        RowCursor c = seek(u, v);
+        if (c == null) throw new RuntimeException("Aresta não existe: " + u + " -> " + v);
+        return c.weight;
+    }
+
+    @Override
+    public int getVertexInDegree(int u) {
+        validateVertex(u);
+        return inDegree[u];
+    }
+
+    @Override
+    public int getVertexOutDegree(int u) {
+        validateVertex(u);
+        return outDegree[u];
+    }
+
+    @Override
+    public List<Integer> getSuccessors(int v) {
+        validateVertex(v);
+        List<Integer> succ = new ArrayList<>(outDegree[v]);
+        forEachInRow(outStart[v], outDegree[v], (w, weight) -> succ.add(w));
+        return succ;
+    }
+
+    @Override
+    public List<Integer> getPredecessors(int v) {
+        validateVertex(v);
+        List<Integer> pred = new ArrayList<>(inDegree[v]);
+        forEachInRow(inStart[v], inDegree[v], (u, weight) -> pred.add(u));
+        return pred;
+    }
+
+    @Override
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        forEachInRow(outStart[v], outDegree[v], consumer);
+    }
+
+    @Override
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        forEachInRow(inStart[v], inDegree[v], consumer);
+    }
+}
@@ -0,0 +1,323 @@
+package estrutura;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grafo imutável em formato CSR (Compressed Sparse Row).
+ * Guarda a adjacência de saída e de entrada em vetores primitivos:
+ * offsets[v]..offsets[v + 1] delimita, em targets/weights, os vizinhos de v (ordenados por índice).
+ * É construído uma única vez a partir de uma lista de arestas e serve para execuções de análise somente leitura.
+ *
+ * O id de uma aresta é a sua posição na adjacência de saída, ou seja, a ordem (origem, destino) crescente;
+ * a adjacência de entrada guarda o id de cada aresta para que atributos e filtros por id valham nas duas direções.
+ */
+public class CompressedSparseRowGraph extends AbstractGraph {
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final double[] outWeights;
+
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final double[] inWeights;
+    private final int[] inEdgeIds;
+
+    /**
+     * Constrói o grafo a partir das primeiras {@code edgeCount} posições dos vetores de arestas.
+     * Laços são ignorados e, para arestas repetidas, prevalece o último peso (mesma semântica de setEdgeWeight).
+     */
+    public CompressedSparseRowGraph(int numVertices, int[] sources, int[] targets, double[] weights, int edgeCount) {
+        super(numVertices);
+        if (edgeCount < 0 || edgeCount > sources.length || edgeCount > targets.length || edgeCount > weights.length) {
+            throw new IllegalArgumentException("Quantidade de arestas inválida: " + edgeCount);
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            validateVertex(sources[i]);
+            validateVertex(targets[i]);
+        }
+
+        // 1ª passada: ordenação estável por destino (counting sort)
+        int[] byTarget = countingSort(targets, identity(edgeCount), numVertices);
+        // 2ª passada: ordenação estável por origem -> linhas ordenadas por destino
+        int[] order = countingSort(sources, byTarget, numVertices);
+
+        int[] offsets = new int[numVertices + 1];
+        int[] tgt = new int[edgeCount];
+        double[] wgt = new double[edgeCount];
+        int m = 0;
+        for (int k = 0; k < edgeCount; k++) {
+            int e = order[k];
+            int u = sources[e];
+            int v = targets[e];
+            if (u == v) continue;
+            if (m > 0 && tgt[m - 1] == v && offsets[u + 1] > 0) {
+                // Aresta repetida: a ordenação é estável, então a última ocorrência vence
+                wgt[m - 1] = weights[e];
+                continue;
+            }
+            tgt[m] = v;
+            wgt[m] = weights[e];
+            offsets[u + 1]++;
+            m++;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        this.outOffsets = offsets;
+        this.outTargets = shrink(tgt, m);
+        this.outWeights = shrink(wgt, m);
+        this.numEdges = m;
+
+        // Adjacência de entrada: percorrer as linhas em ordem de origem já deixa os antecessores ordenados
+        this.inOffsets = new int[numVertices + 1];
+        for (int i = 0; i < m; i++) {
+            inOffsets[outTargets[i] + 1]++;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        this.inSources = new int[m];
+        this.inWeights = new double[m];
+        this.inEdgeIds = new int[m];
+        int[] cursor = new int[numVertices];
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = outOffsets[u]; i < outOffsets[u + 1]; i++) {
+                int v = outTargets[i];
+                int pos = inOffsets[v] + cursor[v]++;
+                inSources[pos] = u;
+                inWeights[pos] = outWeights[i];
+                inEdgeIds[pos] = i;
+            }
+        }
+    }
+
+    /**
+     * Copia a estrutura (arestas, pesos e pesos de vértices) de qualquer outra implementação de grafo.
+     */
+    public CompressedSparseRowGraph(AbstractGraph source) {
+        this(source.getVertexCount(), edgeArrays(source));
+        for (int v = 0; v < numVertices; v++) {
+            this.vertexWeights[v] = source.getVertexWeight(v);
+        }
+    }
+
+    private CompressedSparseRowGraph(int numVertices, EdgeArrays edges) {
+        this(numVertices, edges.sources, edges.targets, edges.weights, edges.count);
+    }
+
+    private static class EdgeArrays {
+        int[] sources; int[] targets; double[] weights; int count;
+    }
+
+    private static EdgeArrays edgeArrays(AbstractGraph g) {
+        EdgeArrays e = new EdgeArrays();
+        int m = g.getEdgeCount();
+        e.sources = new int[m];
+        e.targets = new int[m];
+        e.weights = new double[m];
+        for (int u = 0; u < g.getVertexCount(); u++) {
+            for (int v : g.getSuccessors(u)) {
+                e.sources[e.count] = u;
+                e.targets[e.count] = v;
+                e.weights[e.count] = g.getEdgeWeight(u, v);
+                e.count++;
+            }
+        }
+        return e;
+    }
+
+    private static int[] identity(int size) {
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) ids[i] = i;
+        return ids;
+    }
+
+    private static int[] countingSort(int[] keys, int[] order, int numKeys) {
+        int[] start = new int[numKeys + 1];
+        for (int e : order) start[keys[e] + 1]++;
+        for (int k = 0; k < numKeys; k++) start[k + 1] += start[k];
+        int[] sorted = new int[order.length];
+        for (int e : order) sorted[start[keys[e]]++] = e;
+        return sorted;
+    }
+
+    private static int[] shrink(int[] a, int size) {
+        return a.length == size ? a : Arrays.copyOf(a, size);
+    }
+
+    private static double[] shrink(double[] a, int size) {
+        return a.length == size ? a : Arrays.copyOf(a, size);
+    }
+
+    /** Posição da aresta u -> v em outTargets, ou -1 se ela não existir (busca binária na linha de u). */
+    private int indexOf(int u, int v) {
+        int lo = outOffsets[u];
+        int hi = outOffsets[u + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int t = outTargets[mid];
+            if (t < v) lo = mid + 1;
+            else if (t > v) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    // ---------------- acesso por id de aresta ----------------
+
+    /** Id da aresta u -> v, ou -1 se ela não existir. */
+    public int getEdgeId(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        return indexOf(u, v);
+    }
+
+    /** Origem da aresta (busca binária nos offsets). */
+    public int getEdgeSource(int edge) {
+        validateEdge(edge);
+        int lo = 0;
+        int hi = numVertices - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (outOffsets[mid] <= edge) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    public int getEdgeTarget(int edge) {
+        validateEdge(edge);
+        return outTargets[edge];
+    }
+
+    public double getEdgeWeightById(int edge) {
+        validateEdge(edge);
+        return outWeights[edge];
+    }
+
+    /** Percorre as arestas de saída de v com seus ids (crescentes). */
+    public void forEachOutEdge(int v, EdgeVisitor visitor) {
+        validateVertex(v);
+        for (int i = outOffsets[v], end = outOffsets[v + 1]; i < end; i++) {
+            visitor.accept(i, outTargets[i], outWeights[i]);
+        }
+    }
+
+    /** Percorre as arestas de entrada de v com seus ids; o vizinho informado é a origem. */
+    public void forEachInEdge(int v, EdgeVisitor visitor) {
+        validateVertex(v);
+        for (int i = inOffsets[v], end = inOffsets[v + 1]; i < end; i++) {
+            visitor.accept(inEdgeIds[i], inSources[i], inWeights[i]);
+        }
+    }
+
+    private void validateEdge(int edge) {
+        if (edge < 0 || edge >= numEdges) throw new IndexOutOfBoundsException("Aresta inválida: " + edge);
+    }
+
+    @Override
+    public boolean hasEdge(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        return indexOf(u, v) >= 0;
+    }
+
+    @Override
+    public void addEdge(int u, int v) {
+        throw new UnsupportedOperationException("Grafo CSR é imutável.");
+    }
+
+    @Override
+    public void removeEdge(int u, int v) {
+        throw new UnsupportedOperationException("Grafo CSR é imutável.");
+    }
+
+    @Override
+    public void setEdgeWeight(int u, int v, double w) {
+        throw new UnsupportedOperationException("Grafo CSR é imutável.");
+    }
+
+    @Override
+    public double getEdgeWeight(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        int i = indexOf(u, v);
+        if (i < 0) throw new RuntimeException("Aresta não existe: " + u + " -> " + v);
+        return outWeights[i];
+    }
+
+    @Override
+    public int getVertexInDegree(int u) {
+        validateVertex(u);
+        return inOffsets[u + 1] - inOffsets[u];
+    }
+
+    @Override
+    public int getVertexOutDegree(int u) {
+        validateVertex(u);
+        return outOffsets[u + 1] - outOffsets[u];
+    }
+
+    @Override
+    public List<Integer> getSuccessors(int v) {
+        validateVertex(v);
+        return new IntRangeList(outTargets, outOffsets[v], outOffsets[v + 1]);
+    }
+
+    @Override
+    public List<Integer> getPredecessors(int v) {
+        validateVertex(v);
+        return new IntRangeList(inSources, inOffsets[v], inOffsets[v + 1]);
+    }
+
+    @Override
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        for (int i = outOffsets[v], end = outOffsets[v + 1]; i < end; i++) {
+            consumer.accept(outTargets[i], outWeights[i]);
+        }
+    }
+
+    @Override
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        for (int i = inOffsets[v], end = inOffsets[v + 1]; i < end; i++) {
+            consumer.accept(inSources[i], inWeights[i]);
+        }
+    }
+
+    @Override
+    public int[] successorsArray(int v) {
+        validateVertex(v);
+        return Arrays.copyOfRange(outTargets, outOffsets[v], outOffsets[v + 1]);
+    }
+
+    @Override
+    public double[] successorWeights(int v) {
+        validateVertex(v);
+        return Arrays.copyOfRange(outWeights, outOffsets[v], outOffsets[v + 1]);
+    }
+
+    /** Visão somente leitura sobre um trecho de vetor, sem copiar a linha da CSR. */
+    private static class IntRangeList extends AbstractList<Integer> {
+        private final int[] data;
+        private final int from;
+        private final int size;
+
+        IntRangeList(int[] data, int from, int to) {
+            this.data = data;
+            this.from = from;
+            this.size = to - from;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Índice: " + index);
+            return data[from + index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
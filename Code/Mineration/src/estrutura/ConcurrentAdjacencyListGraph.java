@@ -0,0 +1,349 @@
+package estrutura;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Lista de adjacência segura para inserções concorrentes, para produtores que já conhecem os ids dos vértices
+ * (ex.: várias threads gerando arestas sobre um conjunto fixo de vértices).
+ * Cada vértice guarda seus vizinhos em vetores primitivos, na ordem de inserção; o acesso é protegido por locks
+ * listrados (um lock cobre os vértices v com v % stripes iguais) e o total de arestas é mantido num {@link LongAdder}.
+ * A inserção só acrescenta no fim da linha: a busca da aresta repetida usa varredura nas linhas curtas e um índice
+ * de hash nas longas, então montar um hub de grau d custa O(d) segurando o lock, e não O(d²).
+ * A ordenação fica para {@link #toCompressedSparseRow()}, que converte o resultado para análise.
+ *
+ * O parser de CSV ({@code io.CsvEdgeParser}) não usa esta classe: lá os ids só existem depois de unificar os
+ * dicionários locais de cada bloco, e vetores de arestas por bloco com counting sort saem mais baratos que locks.
+ */
+public class ConcurrentAdjacencyListGraph extends AbstractGraph {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final Object[] locks;
+    private final int stripeMask;
+    private final Row[] out;
+    private final Row[] in;
+    private final LongAdder edgeCounter = new LongAdder();
+
+    public ConcurrentAdjacencyListGraph(int numVertices) {
+        this(numVertices, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes quantidade de locks (arredondada para a próxima potência de 2)
+     */
+    public ConcurrentAdjacencyListGraph(int numVertices, int stripes) {
+        super(numVertices);
+        if (stripes <= 0) throw new IllegalArgumentException("Quantidade de locks deve ser positiva.");
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) size <<= 1;
+        this.locks = new Object[size];
+        for (int i = 0; i < size; i++) locks[i] = new Object();
+        this.stripeMask = size - 1;
+        this.out = new Row[numVertices];
+        this.in = new Row[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            out[i] = new Row();
+            in[i] = new Row();
+        }
+    }
+
+    /**
+     * Vizinhos de um vértice em vetores primitivos, na ordem de inserção, que crescem por duplicação.
+     * A partir de {@link #INDEX_THRESHOLD} vizinhos a linha ganha um índice de hash (endereçamento aberto,
+     * sondagem linear, guardando posição + 1) para que a busca continue O(1).
+     */
+    private static class Row {
+        private static final int INDEX_THRESHOLD = 16;
+
+        int[] ids = new int[4];
+        double[] weights = new double[4];
+        int size;
+        private int[] index;
+        private int shift;
+
+        /** Posição de v na linha, ou -1. */
+        int indexOf(int v) {
+            if (index == null) {
+                for (int i = 0; i < size; i++) if (ids[i] == v) return i;
+                return -1;
+            }
+            int mask = index.length - 1;
+            for (int h = home(v); index[h] != 0; h = (h + 1) & mask) {
+                if (ids[index[h] - 1] == v) return index[h] - 1;
+            }
+            return -1;
+        }
+
+        void append(int v, double w) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ids[size] = v;
+            weights[size] = w;
+            size++;
+            if (index != null && size * 2 <= index.length) {
+                put(size - 1);
+            } else if (size >= INDEX_THRESHOLD) {
+                rebuildIndex();
+            }
+        }
+
+        /** Remove a posição pos trazendo o último vizinho para o lugar dela. */
+        void removeAt(int pos) {
+            int last = size - 1;
+            if (index != null) {
+                delete(pos);
+                if (pos != last) index[slotOf(last)] = pos + 1;
+            }
+            ids[pos] = ids[last];
+            weights[pos] = weights[last];
+            size--;
+        }
+
+        private int home(int v) {
+            return (v * 0x9E3779B9) >>> shift;
+        }
+
+        private void rebuildIndex() {
+            int capacity = Integer.highestOneBit(size * 2) << 1;
+            index = new int[capacity];
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+            for (int i = 0; i < size; i++) put(i);
+        }
+
+        private void put(int pos) {
+            int mask = index.length - 1;
+            int h = home(ids[pos]);
+            while (index[h] != 0) h = (h + 1) & mask;
+            index[h] = pos + 1;
+        }
+
+        private int slotOf(int pos) {
+            int mask = index.length - 1;
+            int h = home(ids[pos]);
+            while (index[h] != pos + 1) h = (h + 1) & mask;
+            return h;
+        }
+
+        /** Apaga a entrada de pos deslocando para trás as entradas seguintes do mesmo agrupamento. */
+        private void delete(int pos) {
+            int mask = index.length - 1;
+            int hole = slotOf(pos);
+            index[hole] = 0;
+            for (int j = (hole + 1) & mask; index[j] != 0; j = (j + 1) & mask) {
+                int k = home(ids[index[j] - 1]);
+                boolean movable = hole <= j ? (k <= hole || k > j) : (k <= hole && k > j);
+                if (movable) {
+                    index[hole] = index[j];
+                    index[j] = 0;
+                    hole = j;
+                }
+            }
+        }
+    }
+
+    private Object lockOf(int v) {
+        return locks[v & stripeMask];
+    }
+
+    /** Operação executada com os locks de u e v adquiridos (sempre na mesma ordem para evitar deadlock). */
+    private interface EdgeAction {
+        void run(Row outU, Row inV);
+    }
+
+    private void withEdgeLocks(int u, int v, EdgeAction action) {
+        int a = u & stripeMask;
+        int b = v & stripeMask;
+        Object first = locks[Math.min(a, b)];
+        Object second = locks[Math.max(a, b)];
+        synchronized (first) {
+            synchronized (second) {
+                action.run(out[u], in[v]);
+            }
+        }
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return (int) edgeCounter.sum();
+    }
+
+    @Override
+    public boolean hasEdge(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        synchronized (lockOf(u)) {
+            return out[u].indexOf(v) >= 0;
+        }
+    }
+
+    @Override
+    public void addEdge(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        if (u == v) return;
+        withEdgeLocks(u, v, (outU, inV) -> {
+            if (outU.indexOf(v) >= 0) return;
+            outU.append(v, 1.0);
+            inV.append(u, 1.0);
+            edgeCounter.increment();
+        });
+    }
+
+    @Override
+    public void removeEdge(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        withEdgeLocks(u, v, (outU, inV) -> {
+            int pos = outU.indexOf(v);
+            if (pos < 0) return;
+            outU.removeAt(pos);
+            inV.removeAt(inV.indexOf(u));
+            edgeCounter.decrement();
+        });
+    }
+
+    @Override
+    public void setEdgeWeight(int u, int v, double w) {
+        mergeEdgeWeight(u, v, w, (oldW, newW) -> newW);
+    }
+
+    /**
+     * Insere a aresta u -> v com peso w ou, se ela já existir, combina o peso atual com w
+     * (ex.: {@code Double::sum} para acumular linhas repetidas, {@code Math::max} para manter o maior).
+     */
+    public void mergeEdgeWeight(int u, int v, double w, DoubleBinaryOperator merge) {
+        validateVertex(u); validateVertex(v);
+        if (u == v) return;
+        withEdgeLocks(u, v, (outU, inV) -> {
+            int pos = outU.indexOf(v);
+            if (pos >= 0) {
+                double merged = merge.applyAsDouble(outU.weights[pos], w);
+                outU.weights[pos] = merged;
+                inV.weights[inV.indexOf(u)] = merged;
+            } else {
+                outU.append(v, w);
+                inV.append(u, w);
+                edgeCounter.increment();
+            }
+        });
+    }
+
+    @Override
+    public double getEdgeWeight(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        synchronized (lockOf(u)) {
+            int pos = out[u].indexOf(v);
+            if (pos < 0) throw new RuntimeException("Aresta não existe: " + u + " -> " + v);
+            return out[u].weights[pos];
+        }
+    }
+
+    @Override
+    public int getVertexInDegree(int u) {
+        validateVertex(u);
+        synchronized (lockOf(u)) {
+            return in[u].size;
+        }
+    }
+
+    @Override
+    public int getVertexOutDegree(int u) {
+        validateVertex(u);
+        synchronized (lockOf(u)) {
+            return out[u].size;
+        }
+    }
+
+    @Override
+    public List<Integer> getSuccessors(int v) {
+        validateVertex(v);
+        return toList(out[v], lockOf(v));
+    }
+
+    @Override
+    public List<Integer> getPredecessors(int v) {
+        validateVertex(v);
+        return toList(in[v], lockOf(v));
+    }
+
+    private static List<Integer> toList(Row row, Object lock) {
+        synchronized (lock) {
+            List<Integer> list = new ArrayList<>(row.size);
+            for (int i = 0; i < row.size; i++) list.add(row.ids[i]);
+            return list;
+        }
+    }
+
+    @Override
+    public int[] successorsArray(int v) {
+        validateVertex(v);
+        synchronized (lockOf(v)) {
+            return Arrays.copyOf(out[v].ids, out[v].size);
+        }
+    }
+
+    @Override
+    public double[] successorWeights(int v) {
+        validateVertex(v);
+        synchronized (lockOf(v)) {
+            return Arrays.copyOf(out[v].weights, out[v].size);
+        }
+    }
+
+    /**
+     * Itera sobre uma cópia consistente da linha, para que o consumidor não execute segurando o lock.
+     */
+    @Override
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        forEach(out[v], v, consumer);
+    }
+
+    @Override
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        forEach(in[v], v, consumer);
+    }
+
+    private void forEach(Row row, int v, IntDoubleConsumer consumer) {
+        int[] ids;
+        double[] weights;
+        int size;
+        synchronized (lockOf(v)) {
+            size = row.size;
+            ids = Arrays.copyOf(row.ids, size);
+            weights = Arrays.copyOf(row.weights, size);
+        }
+        for (int i = 0; i < size; i++) {
+            consumer.accept(ids[i], weights[i]);
+        }
+    }
+
+    /**
+     * Congela o estado atual num {@link CompressedSparseRowGraph}, pronto para as métricas de análise.
+     * As linhas são copiadas como estão e ordenadas uma vez só pelo counting sort da CSR.
+     * Deve ser chamado depois que as threads de ingestão terminaram.
+     */
+    public CompressedSparseRowGraph toCompressedSparseRow() {
+        int m = getEdgeCount();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int count = 0;
+        for (int u = 0; u < numVertices; u++) {
+            Row row = out[u];
+            Arrays.fill(sources, count, count + row.size, u);
+            System.arraycopy(row.ids, 0, targets, count, row.size);
+            System.arraycopy(row.weights, 0, weights, count, row.size);
+            count += row.size;
+        }
+        CompressedSparseRowGraph csr = new CompressedSparseRowGraph(numVertices, sources, targets, weights, count);
+        for (int v = 0; v < numVertices; v++) {
+            double w = getVertexWeight(v);
+            if (w != 1.0) csr.setVertexWeight(v, w);
+        }
+        return csr;
+    }
+}
@@ -0,0 +1,9 @@
+package estrutura;
+
+/**
+ * Visitante de arestas com identificador: recebe o id da aresta, o vizinho e o peso.
+ */
+@FunctionalInterface
+public interface EdgeVisitor {
+    void accept(int edge, int neighbor, double weight);
+}
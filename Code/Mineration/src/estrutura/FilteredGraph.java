@@ -0,0 +1,167 @@
+package estrutura;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Visão somente leitura de um {@link CompressedSparseRowGraph} restrita às arestas aceitas por um filtro
+ * sobre o id da aresta (ex.: "só arestas com tag pr_approved", "peso >= 5").
+ * A adjacência do grafo base é compartilhada; a visão guarda só um bit por aresta e os graus filtrados,
+ * então pode ser passada a qualquer algoritmo de {@code analise} sem copiar nem recarregar o grafo.
+ * Os vértices são os mesmos do grafo base, inclusive os que ficam isolados pelo filtro.
+ */
+public class FilteredGraph extends AbstractGraph {
+    private final CompressedSparseRowGraph base;
+    private final long[] mask;
+    private final int[] outDegree;
+    private final int[] inDegree;
+
+    /**
+     * @param keepEdge recebe o id da aresta no grafo base; é avaliado uma única vez por aresta
+     */
+    public FilteredGraph(CompressedSparseRowGraph base, IntPredicate keepEdge) {
+        super(base.getVertexCount());
+        this.base = base;
+        this.mask = new long[(base.getEdgeCount() + 63) >>> 6];
+        this.outDegree = new int[numVertices];
+        this.inDegree = new int[numVertices];
+        int kept = 0;
+        for (int e = 0; e < base.getEdgeCount(); e++) {
+            if (keepEdge.test(e)) {
+                mask[e >>> 6] |= 1L << e;
+                kept++;
+            }
+        }
+        this.numEdges = kept;
+        for (int u = 0; u < numVertices; u++) {
+            vertexWeights[u] = base.getVertexWeight(u);
+            int source = u;
+            base.forEachOutEdge(u, (e, v, w) -> {
+                if (contains(e)) {
+                    outDegree[source]++;
+                    inDegree[v]++;
+                }
+            });
+        }
+    }
+
+    /** Filtro aplicado sobre outra visão: mantém as arestas aceitas pelas duas, ainda sobre o mesmo grafo base. */
+    public FilteredGraph(FilteredGraph view, IntPredicate keepEdge) {
+        this(view.base, e -> view.contains(e) && keepEdge.test(e));
+    }
+
+    public CompressedSparseRowGraph getBase() {
+        return base;
+    }
+
+    /** A aresta de id {@code edge} do grafo base faz parte da visão? */
+    public boolean containsEdgeId(int edge) {
+        if (edge < 0 || edge >= base.getEdgeCount()) return false;
+        return contains(edge);
+    }
+
+    private boolean contains(int edge) {
+        return (mask[edge >>> 6] & (1L << edge)) != 0;
+    }
+
+    /** Ids (no grafo base) das arestas mantidas, em ordem crescente, ou seja, na ordem (origem, destino). */
+    public int[] keptEdgeIds() {
+        int[] ids = new int[numEdges];
+        int k = 0;
+        for (int word = 0; word < mask.length; word++) {
+            long bits = mask[word];
+            while (bits != 0) {
+                ids[k++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean hasEdge(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        int e = base.getEdgeId(u, v);
+        return e >= 0 && contains(e);
+    }
+
+    @Override
+    public void addEdge(int u, int v) {
+        throw new UnsupportedOperationException("Visão filtrada é somente leitura.");
+    }
+
+    @Override
+    public void removeEdge(int u, int v) {
+        throw new UnsupportedOperationException("Visão filtrada é somente leitura.");
+    }
+
+    @Override
+    public void setEdgeWeight(int u, int v, double w) {
+        throw new UnsupportedOperationException("Visão filtrada é somente leitura.");
+    }
+
+    @Override
+    public double getEdgeWeight(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        int e = base.getEdgeId(u, v);
+        if (e < 0 || !contains(e)) throw new RuntimeException("Aresta não existe: " + u + " -> " + v);
+        return base.getEdgeWeightById(e);
+    }
+
+    @Override
+    public int getVertexInDegree(int u) {
+        validateVertex(u);
+        return inDegree[u];
+    }
+
+    @Override
+    public int getVertexOutDegree(int u) {
+        validateVertex(u);
+        return outDegree[u];
+    }
+
+    @Override
+    public List<Integer> getSuccessors(int v) {
+        validateVertex(v);
+        List<Integer> list = new ArrayList<>(outDegree[v]);
+        forEachSuccessor(v, (w, weight) -> list.add(w));
+        return list;
+    }
+
+    @Override
+    public List<Integer> getPredecessors(int v) {
+        validateVertex(v);
+        List<Integer> list = new ArrayList<>(inDegree[v]);
+        forEachPredecessor(v, (u, weight) -> list.add(u));
+        return list;
+    }
+
+    @Override
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        base.forEachOutEdge(v, (e, w, weight) -> {
+            if (contains(e)) consumer.accept(w, weight);
+        });
+    }
+
+    @Override
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        base.forEachInEdge(v, (e, u, weight) -> {
+            if (contains(e)) consumer.accept(u, weight);
+        });
+    }
+
+    /** Percorre as arestas de saída mantidas, com o id da aresta no grafo base. */
+    public void forEachOutEdge(int v, EdgeVisitor visitor) {
+        base.forEachOutEdge(v, (e, w, weight) -> {
+            if (contains(e)) visitor.accept(e, w, weight);
+        });
+    }
+
+    /** Percorre as arestas de entrada mantidas, com o id da aresta no grafo base. */
+    public void forEachInEdge(int v, EdgeVisitor visitor) {
+        base.forEachInEdge(v, (e, u, weight) -> {
+            if (contains(e)) visitor.accept(e, u, weight);
+        });
+    }
+}
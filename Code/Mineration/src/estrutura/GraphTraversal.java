@@ -0,0 +1,213 @@
+package estrutura;
+
+import java.util.Arrays;
+
+/**
+ * Motor de travessia reutilizável: fila em vetor primitivo e marcação de visitados por carimbo
+ * (cada travessia incrementa o carimbo, então não é preciso limpar o vetor entre execuções).
+ * Sobre ele ficam as componentes fracamente conexas, as fortemente conexas (Tarjan iterativo)
+ * e os histogramas de tamanho, todos devolvendo vetores de rótulos primitivos.
+ */
+public class GraphTraversal {
+
+    public enum Direction { OUT, IN, BOTH }
+
+    private final AbstractGraph graph;
+    private final int n;
+    private final int[] queue;
+    private final int[] mark;
+    private int stamp;
+    private int head;
+    private int tail;
+
+    // Visitante criado uma vez só: evita alocar um lambda por vértice expandido
+    private final IntDoubleConsumer enqueue;
+
+    public GraphTraversal(AbstractGraph graph) {
+        this.graph = graph;
+        this.n = graph.getVertexCount();
+        this.queue = new int[n];
+        this.mark = new int[n];
+        this.enqueue = (v, w) -> {
+            if (mark[v] != stamp) {
+                mark[v] = stamp;
+                queue[tail++] = v;
+            }
+        };
+    }
+
+    private void nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            stamp = 0;
+        }
+        stamp++;
+    }
+
+    /**
+     * BFS a partir de source; devolve quantos vértices foram alcançados (incluindo a origem).
+     * A ordem de visita fica disponível em {@link #getVisitOrder()} até a próxima travessia.
+     */
+    public int bfs(int source, Direction direction) {
+        graph.validateVertex(source);
+        nextStamp();
+        head = 0;
+        tail = 0;
+        mark[source] = stamp;
+        queue[tail++] = source;
+        expand(direction);
+        return tail;
+    }
+
+    private void expand(Direction direction) {
+        while (head < tail) {
+            int u = queue[head++];
+            if (direction != Direction.IN) graph.forEachSuccessor(u, enqueue);
+            if (direction != Direction.OUT) graph.forEachPredecessor(u, enqueue);
+        }
+    }
+
+    /** Verdadeiro se v foi alcançado na última travessia. */
+    public boolean isVisited(int v) {
+        return mark[v] == stamp;
+    }
+
+    /** Vértices alcançados na última travessia, em ordem de visita (cópia). */
+    public int[] getVisitOrder() {
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /** Conectividade fraca: todos os vértices alcançáveis a partir de 0 ignorando o sentido das arestas. */
+    public boolean isWeaklyConnected() {
+        return n == 0 || bfs(0, Direction.BOTH) == n;
+    }
+
+    /**
+     * Componentes fracamente conexas: labels[v] = id da componente (0..k-1, na ordem do menor vértice).
+     */
+    public int[] weaklyConnectedComponents() {
+        int[] labels = new int[n];
+        Arrays.fill(labels, -1);
+        int component = 0;
+        for (int s = 0; s < n; s++) {
+            if (labels[s] >= 0) continue;
+            int reached = bfs(s, Direction.BOTH);
+            for (int i = 0; i < reached; i++) labels[queue[i]] = component;
+            component++;
+        }
+        return labels;
+    }
+
+    /**
+     * Componentes fortemente conexas pelo algoritmo de Tarjan em versão iterativa (sem recursão,
+     * então não estoura a pilha em grafos grandes). Os rótulos saem em ordem topológica reversa do grafo condensado.
+     *
+     * A linha de cada vértice é lida uma vez, com forEachSuccessor, ao entrar nele: os sucessores vão para uma
+     * pilha de linhas e o quadro do vértice guarda o início, a posição e o fim da sua faixa. Só ficam no heap as linhas
+     * dos vértices na pilha de chamadas, e nenhuma representação precisa de cópia da adjacência.
+     */
+    public int[] stronglyConnectedComponents() {
+        int[] index = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(index, -1);
+        int[] labels = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int[] rowStart = new int[n];
+        int[] edgePos = new int[n];
+        int[] edgeEnd = new int[n];
+        RowStack rows = new RowStack(n);
+        int sp = 0;
+        int cp = 0;
+        int counter = 0;
+        int component = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (index[s] >= 0) continue;
+            index[s] = low[s] = counter++;
+            stack[sp++] = s;
+            onStack[s] = true;
+            callStack[cp++] = s;
+            rowStart[s] = edgePos[s] = rows.size;
+            graph.forEachSuccessor(s, rows);
+            edgeEnd[s] = rows.size;
+
+            while (cp > 0) {
+                int v = callStack[cp - 1];
+                if (edgePos[v] < edgeEnd[v]) {
+                    int w = rows.items[edgePos[v]++];
+                    if (index[w] < 0) {
+                        index[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        callStack[cp++] = w;
+                        rowStart[w] = edgePos[w] = rows.size;
+                        graph.forEachSuccessor(w, rows);
+                        edgeEnd[w] = rows.size;
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+
+                cp--;
+                rows.size = rowStart[v];
+                if (cp > 0) {
+                    int parent = callStack[cp - 1];
+                    if (low[v] < low[parent]) low[parent] = low[v];
+                }
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--sp];
+                        onStack[w] = false;
+                        labels[w] = component;
+                    } while (w != v);
+                    component++;
+                }
+            }
+        }
+        return labels;
+    }
+
+    /** Pilha de sucessores do Tarjan iterativo: cada vértice da pilha de chamadas tem a sua faixa contígua. */
+    private static final class RowStack implements IntDoubleConsumer {
+        int[] items;
+        int size;
+
+        RowStack(int capacity) {
+            this.items = new int[Math.max(16, capacity)];
+        }
+
+        @Override
+        public void accept(int w, double weight) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = w;
+        }
+    }
+
+    /** Quantidade de componentes em um vetor de rótulos 0..k-1. */
+    public static int countComponents(int[] labels) {
+        int max = -1;
+        for (int l : labels) if (l > max) max = l;
+        return max + 1;
+    }
+
+    /** sizes[c] = nº de vértices da componente c. */
+    public static int[] componentSizes(int[] labels) {
+        int[] sizes = new int[countComponents(labels)];
+        for (int l : labels) sizes[l]++;
+        return sizes;
+    }
+
+    /** histogram[s] = nº de componentes com exatamente s vértices. */
+    public static int[] sizeHistogram(int[] labels) {
+        int[] sizes = componentSizes(labels);
+        int max = 0;
+        for (int s : sizes) if (s > max) max = s;
+        int[] histogram = new int[max + 1];
+        for (int s : sizes) histogram[s]++;
+        return histogram;
+    }
+}
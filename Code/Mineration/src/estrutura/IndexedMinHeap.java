@@ -0,0 +1,111 @@
+package estrutura;
+
+import java.util.Arrays;
+
+/**
+ * Heap binário de mínimo indexado por vértice (0..capacidade-1), todo em vetores primitivos:
+ * sem objetos por entrada e com diminuição de chave em O(log n), como pede o Dijkstra.
+ * position[v] guarda onde v está no heap (-1 se fora), então a mesma instância é reaproveitada
+ * entre execuções sem limpeza, desde que cada execução esvazie o heap.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final double[] key;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.key = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int v) {
+        return position[v] >= 0;
+    }
+
+    public double keyOf(int v) {
+        if (position[v] < 0) throw new IllegalArgumentException("Vértice fora do heap: " + v);
+        return key[v];
+    }
+
+    /**
+     * Insere v com a chave dada ou, se v já estiver no heap com chave maior, diminui a chave.
+     * @return falso se v já estava no heap com chave menor ou igual
+     */
+    public boolean insertOrDecrease(int v, double k) {
+        int i = position[v];
+        if (i < 0) {
+            i = size++;
+            heap[i] = v;
+            position[v] = i;
+        } else if (k >= key[v]) {
+            return false;
+        }
+        key[v] = k;
+        siftUp(i);
+        return true;
+    }
+
+    /** Remove e devolve o vértice de menor chave. */
+    public int pollMin() {
+        if (size == 0) throw new IllegalStateException("Heap vazio.");
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        double k = key[v];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (key[p] <= k) break;
+            heap[i] = p;
+            position[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        double k = key[v];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && key[heap[right]] < key[heap[child]]) child = right;
+            int c = heap[child];
+            if (k <= key[c]) break;
+            heap[i] = c;
+            position[c] = i;
+            i = child;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+}
@@ -0,0 +1,10 @@
+package estrutura;
+
+/**
+ * Consumidor primitivo de vizinhos: recebe o índice do vértice vizinho e o peso da aresta,
+ * sem empacotar inteiros nem criar listas intermediárias.
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+    void accept(int vertex, double weight);
+}
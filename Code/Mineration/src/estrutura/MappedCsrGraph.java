@@ -0,0 +1,169 @@
+package estrutura;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Grafo CSR somente leitura cuja adjacência é servida diretamente de buffers (tipicamente
+ * mapeados em memória a partir de um snapshot binário), sem copiar arestas para o heap.
+ * As linhas devem estar ordenadas por índice de vizinho, como no {@link CompressedSparseRowGraph}.
+ */
+public class MappedCsrGraph extends AbstractGraph {
+    private final IntBuffer outOffsets;
+    private final IntBuffer outTargets;
+    private final DoubleBuffer outWeights;
+
+    private final IntBuffer inOffsets;
+    private final IntBuffer inSources;
+    private final DoubleBuffer inWeights;
+
+    public MappedCsrGraph(int numVertices, int numEdges,
+                          IntBuffer outOffsets, IntBuffer outTargets, DoubleBuffer outWeights,
+                          IntBuffer inOffsets, IntBuffer inSources, DoubleBuffer inWeights) {
+        super(numVertices);
+        if (outOffsets.capacity() != numVertices + 1 || inOffsets.capacity() != numVertices + 1) {
+            throw new IllegalArgumentException("Vetor de offsets incompatível com " + numVertices + " vértices.");
+        }
+        if (outTargets.capacity() != numEdges || outWeights.capacity() != numEdges
+                || inSources.capacity() != numEdges || inWeights.capacity() != numEdges) {
+            throw new IllegalArgumentException("Vetores de arestas incompatíveis com " + numEdges + " arestas.");
+        }
+        this.numEdges = numEdges;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outWeights = outWeights;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inWeights = inWeights;
+    }
+
+    private int indexOf(int u, int v) {
+        int lo = outOffsets.get(u);
+        int hi = outOffsets.get(u + 1) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int t = outTargets.get(mid);
+            if (t < v) lo = mid + 1;
+            else if (t > v) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean hasEdge(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        return indexOf(u, v) >= 0;
+    }
+
+    @Override
+    public void addEdge(int u, int v) {
+        throw new UnsupportedOperationException("Grafo mapeado é somente leitura.");
+    }
+
+    @Override
+    public void removeEdge(int u, int v) {
+        throw new UnsupportedOperationException("Grafo mapeado é somente leitura.");
+    }
+
+    @Override
+    public void setEdgeWeight(int u, int v, double w) {
+        throw new UnsupportedOperationException("Grafo mapeado é somente leitura.");
+    }
+
+    @Override
+    public double getEdgeWeight(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        int i = indexOf(u, v);
+        if (i < 0) throw new RuntimeException("Aresta não existe: " + u + " -> " + v);
+        return outWeights.get(i);
+    }
+
+    @Override
+    public int getVertexInDegree(int u) {
+        validateVertex(u);
+        return inOffsets.get(u + 1) - inOffsets.get(u);
+    }
+
+    @Override
+    public int getVertexOutDegree(int u) {
+        validateVertex(u);
+        return outOffsets.get(u + 1) - outOffsets.get(u);
+    }
+
+    @Override
+    public List<Integer> getSuccessors(int v) {
+        validateVertex(v);
+        return new BufferRangeList(outTargets, outOffsets.get(v), outOffsets.get(v + 1));
+    }
+
+    @Override
+    public List<Integer> getPredecessors(int v) {
+        validateVertex(v);
+        return new BufferRangeList(inSources, inOffsets.get(v), inOffsets.get(v + 1));
+    }
+
+    @Override
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        for (int i = outOffsets.get(v), end = outOffsets.get(v + 1); i < end; i++) {
+            consumer.accept(outTargets.get(i), outWeights.get(i));
+        }
+    }
+
+    @Override
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        for (int i = inOffsets.get(v), end = inOffsets.get(v + 1); i < end; i++) {
+            consumer.accept(inSources.get(i), inWeights.get(i));
+        }
+    }
+
+    @Override
+    public int[] successorsArray(int v) {
+        validateVertex(v);
+        int from = outOffsets.get(v);
+        int[] result = new int[outOffsets.get(v + 1) - from];
+        IntBuffer view = outTargets.duplicate();
+        view.position(from);
+        view.get(result);
+        return result;
+    }
+
+    @Override
+    public double[] successorWeights(int v) {
+        validateVertex(v);
+        int from = outOffsets.get(v);
+        double[] result = new double[outOffsets.get(v + 1) - from];
+        DoubleBuffer view = outWeights.duplicate();
+        view.position(from);
+        view.get(result);
+        return result;
+    }
+
+    /** Visão somente leitura sobre um trecho do buffer. */
+    private static class BufferRangeList extends AbstractList<Integer> {
+        private final IntBuffer data;
+        private final int from;
+        private final int size;
+
+        BufferRangeList(IntBuffer data, int from, int to) {
+            this.data = data;
+            this.from = from;
+            this.size = to - from;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Índice: " + index);
+            return data.get(from + index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package estrutura;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo CSR somente leitura para grafos maiores que o heap: só os offsets das linhas (e, com eles, os graus)
+ * ficam residentes; vizinhos e pesos são lidos do arquivo em páginas de {@value #PAGE_SIZE} bytes,
+ * guardadas num cache LRU limitado por um orçamento de bytes. As seções seguem o layout do snapshot
+ * (int/double little-endian, alinhadas em 8 bytes) e as linhas devem estar ordenadas por vizinho.
+ *
+ * Os métodos de leitura podem ser chamados por várias threads; o cache é sincronizado.
+ * Erros de E/S durante a leitura de uma página viram {@link UncheckedIOException}.
+ *
+ * As análises de {@code analise} percorrem as linhas por forEachSuccessor/forEachPredecessor, o mesmo caminho
+ * de qualquer outra representação, e guardam só vetores O(n): grau, densidade, aglomeração, assortatividade,
+ * componentes fracas e fortes, PageRank, closeness (MultiSourceBfs), as métricas ponderadas e a betweenness.
+ * O Girvan-Newman monta a sua própria versão não direcionada do grafo (ele remove arestas) e o PageRank
+ * personalizado copia as probabilidades de transição; esses dois ocupam O(m) no heap.
+ */
+public class PagedCsrGraph extends AbstractGraph implements AutoCloseable {
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int MIN_PAGES = 4;
+
+    private final FileChannel channel;
+    private final int[] outOffsets;
+    private final int[] inOffsets;
+    private final long outTargetsPos;
+    private final long outWeightsPos;
+    private final long inSourcesPos;
+    private final long inWeightsPos;
+
+    private final PageCache cache;
+
+    /**
+     * @param channel       arquivo aberto para leitura; passa a pertencer ao grafo (fechado em {@link #close()})
+     * @param outOffsets    offsets das linhas de saída (n + 1), residentes
+     * @param inOffsets     offsets das linhas de entrada (n + 1), residentes
+     * @param cacheBytes    orçamento de memória para as páginas em cache
+     */
+    public PagedCsrGraph(int numVertices, int numEdges, FileChannel channel,
+                         int[] outOffsets, long outTargetsPos, long outWeightsPos,
+                         int[] inOffsets, long inSourcesPos, long inWeightsPos,
+                         long cacheBytes) {
+        super(numVertices);
+        if (outOffsets.length != numVertices + 1 || inOffsets.length != numVertices + 1) {
+            throw new IllegalArgumentException("Vetor de offsets incompatível com " + numVertices + " vértices.");
+        }
+        if (outOffsets[numVertices] != numEdges || inOffsets[numVertices] != numEdges) {
+            throw new IllegalArgumentException("Offsets incompatíveis com " + numEdges + " arestas.");
+        }
+        for (long pos : new long[]{outTargetsPos, outWeightsPos, inSourcesPos, inWeightsPos}) {
+            if ((pos & 7) != 0) throw new IllegalArgumentException("Seção não alinhada em 8 bytes: " + pos);
+        }
+        this.numEdges = numEdges;
+        this.channel = channel;
+        this.outOffsets = outOffsets;
+        this.inOffsets = inOffsets;
+        this.outTargetsPos = outTargetsPos;
+        this.outWeightsPos = outWeightsPos;
+        this.inSourcesPos = inSourcesPos;
+        this.inWeightsPos = inWeightsPos;
+        this.cache = new PageCache((int) Math.max(MIN_PAGES, Math.min(Integer.MAX_VALUE, cacheBytes / PAGE_SIZE)));
+    }
+
+    // ---------------- cache de páginas ----------------
+
+    /** LRU de páginas: mapa em ordem de acesso, descartando a menos usada quando passa de maxPages. */
+    private final class PageCache {
+        private final Map<Long, ByteBuffer> pages = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxPages;
+        long hits;
+        long misses;
+
+        PageCache(int maxPages) {
+            this.maxPages = maxPages;
+        }
+
+        synchronized ByteBuffer page(long index) {
+            ByteBuffer page = pages.get(index);
+            if (page != null) {
+                hits++;
+                return page;
+            }
+            misses++;
+            page = readPage(index);
+            pages.put(index, page);
+            if (pages.size() > maxPages) {
+                Iterator<Long> eldest = pages.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            return page;
+        }
+    }
+
+    private ByteBuffer readPage(long index) {
+        ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long position = index << PAGE_SHIFT;
+        try {
+            while (page.hasRemaining()) {
+                int read = channel.read(page, position + page.position());
+                if (read < 0) break; // última página do arquivo pode ser parcial
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler página " + index + " do grafo em disco", e);
+        }
+        return page;
+    }
+
+    /** Leitura sequencial de uma seção, trocando de página só quando a posição cruza o limite. */
+    private final class SectionCursor {
+        private final long base;
+        private final int width;
+        private long pageIndex = -1;
+        private ByteBuffer page;
+
+        SectionCursor(long base, int width) {
+            this.base = base;
+            this.width = width;
+        }
+
+        private int locate(int element) {
+            long offset = base + (long) element * width;
+            long index = offset >>> PAGE_SHIFT;
+            if (index != pageIndex) {
+                page = cache.page(index);
+                pageIndex = index;
+            }
+            return (int) (offset & PAGE_MASK);
+        }
+
+        int getInt(int element) {
+            int offset = locate(element);
+            return page.getInt(offset);
+        }
+
+        double getDouble(int element) {
+            int offset = locate(element);
+            return page.getDouble(offset);
+        }
+    }
+
+    /** Páginas lidas do disco desde a abertura. */
+    public long getCacheMisses() {
+        synchronized (cache) {
+            return cache.misses;
+        }
+    }
+
+    /** Leituras de página atendidas pelo cache desde a abertura. */
+    public long getCacheHits() {
+        synchronized (cache) {
+            return cache.hits;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ---------------- leitura ----------------
+
+    private int indexOf(int u, int v) {
+        SectionCursor targets = new SectionCursor(outTargetsPos, 4);
+        int lo = outOffsets[u];
+        int hi = outOffsets[u + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int t = targets.getInt(mid);
+            if (t < v) lo = mid + 1;
+            else if (t > v) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean hasEdge(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        return indexOf(u, v) >= 0;
+    }
+
+    @Override
+    public void addEdge(int u, int v) {
+        throw new UnsupportedOperationException("Grafo em disco é somente leitura.");
+    }
+
+    @Override
+    public void removeEdge(int u, int v) {
+        throw new UnsupportedOperationException("Grafo em disco é somente leitura.");
+    }
+
+    @Override
+    public void setEdgeWeight(int u, int v, double w) {
+        throw new UnsupportedOperationException("Grafo em disco é somente leitura.");
+    }
+
+    @Override
+    public double getEdgeWeight(int u, int v) {
+        validateVertex(u); validateVertex(v);
+        int i = indexOf(u, v);
+        if (i < 0) throw new RuntimeException("Aresta não existe: " + u + " -> " + v);
+        return new SectionCursor(outWeightsPos, 8).getDouble(i);
+    }
+
+    @Override
+    public int getVertexInDegree(int u) {
+        validateVertex(u);
+        return inOffsets[u + 1] - inOffsets[u];
+    }
+
+    @Override
+    public int getVertexOutDegree(int u) {
+        validateVertex(u);
+        return outOffsets[u + 1] - outOffsets[u];
+    }
+
+    @Override
+    public List<Integer> getSuccessors(int v) {
+        validateVertex(v);
+        List<Integer> list = new ArrayList<>(getVertexOutDegree(v));
+        forEachSuccessor(v, (w, weight) -> list.add(w));
+        return list;
+    }
+
+    @Override
+    public List<Integer> getPredecessors(int v) {
+        validateVertex(v);
+        List<Integer> list = new ArrayList<>(getVertexInDegree(v));
+        forEachPredecessor(v, (u, weight) -> list.add(u));
+        return list;
+    }
+
+    @Override
+    public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        scan(outOffsets[v], outOffsets[v + 1], outTargetsPos, outWeightsPos, consumer);
+    }
+
+    @Override
+    public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+        validateVertex(v);
+        scan(inOffsets[v], inOffsets[v + 1], inSourcesPos, inWeightsPos, consumer);
+    }
+
+    private void scan(int from, int to, long idsPos, long weightsPos, IntDoubleConsumer consumer) {
+        if (from == to) return;
+        SectionCursor ids = new SectionCursor(idsPos, 4);
+        SectionCursor weights = new SectionCursor(weightsPos, 8);
+        for (int i = from; i < to; i++) {
+            consumer.accept(ids.getInt(i), weights.getDouble(i));
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package estrutura;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Grafo versionado para ingestão contínua com leitores concorrentes.
+ * Escritores acumulam arestas novas (ou novos pesos) e as publicam com {@link #commit()}; leitores obtêm com
+ * {@link #snapshot()} uma versão imutável e consistente, que não muda enquanto uma análise longa roda.
+ *
+ * Cada versão = base CSR compartilhada + sobreposição por vértice (arestas adicionadas e pesos sobrescritos).
+ * Os ponteiros das linhas da sobreposição ficam em páginas de {@link RowTable#PAGE_SIZE} vértices: o commit copia
+ * o índice de páginas, as páginas e as linhas tocadas (copy-on-write) e atualiza os contadores só pelas linhas
+ * tocadas, então custa O(alterações + n / PAGE_SIZE), nunca o grafo inteiro. Os pesos de vértice são
+ * compartilhados entre as versões. Quando a sobreposição cresce demais, o escritor compacta tudo numa nova
+ * base (O(n + m), amortizado pelas alterações acumuladas). Versões antigas não guardam
+ * referência às novas, então são recolhidas pelo GC assim que nenhuma análise as utiliza.
+ */
+public class VersionedGraph {
+    /**
+     * Compacta a base quando a sobreposição passa desta fração de n + m da base (o custo da compactação),
+     * e nunca abaixo de {@link #COMPACTION_MIN} arestas: assim um grafo que começa vazio ou pequeno não
+     * reconstrói a CSR a cada commit, e a compactação fica paga pelas alterações acumuladas.
+     */
+    private static final double COMPACTION_RATIO = 0.25;
+    private static final int COMPACTION_MIN = 4096;
+
+    private final int numVertices;
+    private final Map<Long, Double> pending = new LinkedHashMap<>();
+    private volatile Snapshot current;
+
+    public VersionedGraph(AbstractGraph initial) {
+        this.numVertices = initial.getVertexCount();
+        CompressedSparseRowGraph base = initial instanceof CompressedSparseRowGraph
+                ? (CompressedSparseRowGraph) initial
+                : new CompressedSparseRowGraph(initial);
+        double[] vertexWeights = new double[numVertices];
+        for (int v = 0; v < numVertices; v++) vertexWeights[v] = initial.getVertexWeight(v);
+        this.current = new Snapshot(0, base, new Overlay(numVertices), vertexWeights);
+    }
+
+    /** Versão publicada mais recente (imutável). */
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public long getVersion() {
+        return current.version;
+    }
+
+    /** Registra a aresta u -> v (peso 1.0) caso ela ainda não exista; só fica visível após o commit. */
+    public synchronized void addEdge(int u, int v) {
+        current.validateVertex(u); current.validateVertex(v);
+        if (u == v) return;
+        long key = key(u, v);
+        if (pending.containsKey(key) || current.hasEdge(u, v)) return;
+        pending.put(key, 1.0);
+    }
+
+    /** Registra o peso da aresta u -> v (criando-a se necessário); só fica visível após o commit. */
+    public synchronized void setEdgeWeight(int u, int v, double w) {
+        current.validateVertex(u); current.validateVertex(v);
+        if (u == v) return;
+        pending.put(key(u, v), w);
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Publica as alterações pendentes como uma nova versão e a devolve.
+     */
+    public synchronized Snapshot commit() {
+        if (pending.isEmpty()) return current;
+        Snapshot prev = current;
+        Overlay overlay = prev.overlay.copyForWrite();
+
+        // Agrupa as alterações por linha para copiar cada linha tocada uma única vez
+        Map<Integer, RowChanges> outChanges = new LinkedHashMap<>();
+        Map<Integer, RowChanges> inChanges = new LinkedHashMap<>();
+        for (Map.Entry<Long, Double> e : pending.entrySet()) {
+            int u = (int) (e.getKey() / numVertices);
+            int v = (int) (e.getKey() % numVertices);
+            boolean inBase = prev.base.hasEdge(u, v);
+            outChanges.computeIfAbsent(u, k -> new RowChanges()).add(v, e.getValue(), inBase);
+            inChanges.computeIfAbsent(v, k -> new RowChanges()).add(u, e.getValue(), inBase);
+        }
+        // Contadores atualizados pela diferença de tamanho das linhas tocadas, sem varrer as n linhas
+        for (Map.Entry<Integer, RowChanges> e : outChanges.entrySet()) {
+            int u = e.getKey();
+            Row added = overlay.addedOut.get(u);
+            Row overridden = overlay.overriddenOut.get(u);
+            Row newAdded = merge(added, e.getValue().added);
+            Row newOverridden = merge(overridden, e.getValue().overridden);
+            overlay.addedCount += length(newAdded) - length(added);
+            overlay.overriddenCount += length(newOverridden) - length(overridden);
+            overlay.addedOut.set(u, newAdded);
+            overlay.overriddenOut.set(u, newOverridden);
+        }
+        for (Map.Entry<Integer, RowChanges> e : inChanges.entrySet()) {
+            int v = e.getKey();
+            overlay.addedIn.set(v, merge(overlay.addedIn.get(v), e.getValue().added));
+            overlay.overriddenIn.set(v, merge(overlay.overriddenIn.get(v), e.getValue().overridden));
+        }
+        overlay.freeze();
+        pending.clear();
+
+        Snapshot next = new Snapshot(prev.version + 1, prev.base, overlay, prev.vertexWeights);
+        if (overlay.size() > compactionThreshold(prev.base)) {
+            CompressedSparseRowGraph compacted = new CompressedSparseRowGraph(next);
+            next = new Snapshot(next.version, compacted, new Overlay(numVertices), prev.vertexWeights);
+        }
+        current = next;
+        return next;
+    }
+
+    private double compactionThreshold(CompressedSparseRowGraph base) {
+        return Math.max(COMPACTION_MIN, COMPACTION_RATIO * ((double) base.getEdgeCount() + numVertices));
+    }
+
+    private long key(int u, int v) {
+        return (long) u * numVertices + v;
+    }
+
+    // ---------------- estrutura da sobreposição ----------------
+
+    /** Linha esparsa ordenada por vizinho: vetores paralelos imutáveis depois de publicados. */
+    private static final class Row {
+        final int[] ids;
+        final double[] weights;
+
+        Row(int[] ids, double[] weights) {
+            this.ids = ids;
+            this.weights = weights;
+        }
+
+        int indexOf(int v) {
+            return Arrays.binarySearch(ids, v);
+        }
+    }
+
+    private static int length(Row row) {
+        return row == null ? 0 : row.ids.length;
+    }
+
+    /**
+     * Vetor de linhas por vértice em páginas de PAGE_SIZE posições. As versões compartilham as páginas;
+     * a cópia para escrita duplica só o índice de páginas e cada página na primeira escrita dela.
+     */
+    private static final class RowTable {
+        static final int PAGE_BITS = 10;
+        static final int PAGE_SIZE = 1 << PAGE_BITS;
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final Row[][] pages; // página null = nenhuma linha na faixa
+        private boolean[] owned; // páginas já copiadas por esta cópia; null depois de publicada
+
+        RowTable(int n) {
+            this.pages = new Row[(n + PAGE_SIZE - 1) >>> PAGE_BITS][];
+        }
+
+        private RowTable(Row[][] pages) {
+            this.pages = pages;
+            this.owned = new boolean[pages.length];
+        }
+
+        Row get(int v) {
+            Row[] page = pages[v >>> PAGE_BITS];
+            return page == null ? null : page[v & PAGE_MASK];
+        }
+
+        RowTable copyForWrite() {
+            return new RowTable(pages.clone());
+        }
+
+        void set(int v, Row row) {
+            if (get(v) == row) return; // linha sem alteração: não copia a página
+            int p = v >>> PAGE_BITS;
+            if (!owned[p]) {
+                pages[p] = pages[p] == null ? new Row[PAGE_SIZE] : pages[p].clone();
+                owned[p] = true;
+            }
+            pages[p][v & PAGE_MASK] = row;
+        }
+
+        void freeze() {
+            owned = null;
+        }
+    }
+
+    private static final class RowChanges {
+        final Map<Integer, Double> added = new TreeMap<>();
+        final Map<Integer, Double> overridden = new TreeMap<>();
+
+        void add(int vertex, double weight, boolean inBase) {
+            (inBase ? overridden : added).put(vertex, weight);
+        }
+    }
+
+    /** Nova linha = linha anterior + alterações (a alteração vence em caso de vizinho repetido). */
+    private static Row merge(Row old, Map<Integer, Double> changes) {
+        if (changes.isEmpty()) return old;
+        Map<Integer, Double> merged = new TreeMap<>(changes);
+        if (old != null) {
+            for (int i = 0; i < old.ids.length; i++) merged.putIfAbsent(old.ids[i], old.weights[i]);
+        }
+        int[] ids = new int[merged.size()];
+        double[] weights = new double[merged.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Double> e : merged.entrySet()) {
+            ids[i] = e.getKey();
+            weights[i] = e.getValue();
+            i++;
+        }
+        return new Row(ids, weights);
+    }
+
+    private static final class Overlay {
+        final RowTable addedOut;
+        final RowTable overriddenOut;
+        final RowTable addedIn;
+        final RowTable overriddenIn;
+        int addedCount;
+        int overriddenCount;
+
+        Overlay(int n) {
+            this(new RowTable(n), new RowTable(n), new RowTable(n), new RowTable(n));
+        }
+
+        private Overlay(RowTable addedOut, RowTable overriddenOut, RowTable addedIn, RowTable overriddenIn) {
+            this.addedOut = addedOut;
+            this.overriddenOut = overriddenOut;
+            this.addedIn = addedIn;
+            this.overriddenIn = overriddenIn;
+        }
+
+        Overlay copyForWrite() {
+            Overlay o = new Overlay(addedOut.copyForWrite(), overriddenOut.copyForWrite(),
+                    addedIn.copyForWrite(), overriddenIn.copyForWrite());
+            o.addedCount = addedCount;
+            o.overriddenCount = overriddenCount;
+            return o;
+        }
+
+        void freeze() {
+            addedOut.freeze();
+            overriddenOut.freeze();
+            addedIn.freeze();
+            overriddenIn.freeze();
+        }
+
+        int size() {
+            return addedCount + overriddenCount;
+        }
+    }
+
+    // ---------------- versão imutável ----------------
+
+    /**
+     * Versão publicada do grafo. Implementa o contrato completo de {@link AbstractGraph} para leitura;
+     * as operações de escrita (inclusive setVertexWeight, pois os pesos de vértice são compartilhados entre as
+     * versões) lançam UnsupportedOperationException (use o {@link VersionedGraph}).
+     */
+    public static final class Snapshot extends AbstractGraph {
+        private final long version;
+        private final CompressedSparseRowGraph base;
+        private final Overlay overlay;
+
+        private Snapshot(long version, CompressedSparseRowGraph base, Overlay overlay, double[] vertexWeights) {
+            super(base.getVertexCount(), vertexWeights);
+            this.version = version;
+            this.base = base;
+            this.overlay = overlay;
+            this.numEdges = base.getEdgeCount() + overlay.addedCount;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public boolean hasEdge(int u, int v) {
+            validateVertex(u); validateVertex(v);
+            Row added = overlay.addedOut.get(u);
+            return base.hasEdge(u, v) || (added != null && added.indexOf(v) >= 0);
+        }
+
+        @Override
+        public void addEdge(int u, int v) {
+            throw new UnsupportedOperationException("Versão publicada é imutável.");
+        }
+
+        @Override
+        public void removeEdge(int u, int v) {
+            throw new UnsupportedOperationException("Versão publicada é imutável.");
+        }
+
+        @Override
+        public void setEdgeWeight(int u, int v, double w) {
+            throw new UnsupportedOperationException("Versão publicada é imutável.");
+        }
+
+        @Override
+        public void setVertexWeight(int v, double w) {
+            throw new UnsupportedOperationException("Versão publicada é imutável.");
+        }
+
+        @Override
+        public double getEdgeWeight(int u, int v) {
+            validateVertex(u); validateVertex(v);
+            Row overridden = overlay.overriddenOut.get(u);
+            if (overridden != null) {
+                int i = overridden.indexOf(v);
+                if (i >= 0) return overridden.weights[i];
+            }
+            Row added = overlay.addedOut.get(u);
+            if (added != null) {
+                int i = added.indexOf(v);
+                if (i >= 0) return added.weights[i];
+            }
+            return base.getEdgeWeight(u, v);
+        }
+
+        @Override
+        public int getVertexInDegree(int u) {
+            validateVertex(u);
+            Row added = overlay.addedIn.get(u);
+            return base.getVertexInDegree(u) + (added == null ? 0 : added.ids.length);
+        }
+
+        @Override
+        public int getVertexOutDegree(int u) {
+            validateVertex(u);
+            Row added = overlay.addedOut.get(u);
+            return base.getVertexOutDegree(u) + (added == null ? 0 : added.ids.length);
+        }
+
+        @Override
+        public List<Integer> getSuccessors(int v) {
+            validateVertex(v);
+            List<Integer> list = new ArrayList<>(getVertexOutDegree(v));
+            forEachSuccessor(v, (w, weight) -> list.add(w));
+            return list;
+        }
+
+        @Override
+        public List<Integer> getPredecessors(int v) {
+            validateVertex(v);
+            List<Integer> list = new ArrayList<>(getVertexInDegree(v));
+            forEachPredecessor(v, (u, weight) -> list.add(u));
+            return list;
+        }
+
+        @Override
+        public void forEachSuccessor(int v, IntDoubleConsumer consumer) {
+            validateVertex(v);
+            forEach(base::forEachSuccessor, v, overlay.overriddenOut.get(v), overlay.addedOut.get(v), consumer);
+        }
+
+        @Override
+        public void forEachPredecessor(int v, IntDoubleConsumer consumer) {
+            validateVertex(v);
+            forEach(base::forEachPredecessor, v, overlay.overriddenIn.get(v), overlay.addedIn.get(v), consumer);
+        }
+
+        private interface RowScan {
+            void scan(int v, IntDoubleConsumer consumer);
+        }
+
+        private void forEach(RowScan baseRow, int v, Row overridden, Row added, IntDoubleConsumer consumer) {
+            if (overridden == null) {
+                baseRow.scan(v, consumer);
+            } else {
+                baseRow.scan(v, (w, weight) -> {
+                    int i = overridden.indexOf(w);
+                    consumer.accept(w, i >= 0 ? overridden.weights[i] : weight);
+                });
+            }
+            if (added != null) {
+                for (int i = 0; i < added.ids.length; i++) consumer.accept(added.ids[i], added.weights[i]);
+            }
+        }
+    }
+}
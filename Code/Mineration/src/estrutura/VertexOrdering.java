@@ -0,0 +1,137 @@
+package estrutura;
+
+import java.util.Arrays;
+
+/**
+ * Reordenação de vértices para melhorar a localidade de cache: vizinhos passam a ter índices próximos,
+ * então as varreduras de BFS (closeness, betweenness) tocam regiões contíguas dos vetores.
+ * As permutações seguem a convenção perm[antigo] = novo.
+ */
+public class VertexOrdering {
+
+    public enum Strategy {
+        /** Ordena por grau total decrescente: os hubs ficam agrupados no início. */
+        DEGREE,
+        /** Ordem de descoberta de uma BFS (não direcionada) a partir dos vértices de maior grau. */
+        BFS,
+        /** Reverse Cuthill-McKee: BFS partindo de vértices periféricos e visitando vizinhos por grau crescente. */
+        RCM
+    }
+
+    public static int[] compute(AbstractGraph graph, Strategy strategy) {
+        switch (strategy) {
+            case DEGREE: return degreeOrder(graph);
+            case BFS: return bfsOrder(graph, false);
+            case RCM: return bfsOrder(graph, true);
+            default: throw new IllegalArgumentException("Estratégia desconhecida: " + strategy);
+        }
+    }
+
+    /**
+     * Reconstrói o grafo (em CSR) com os índices trocados segundo perm.
+     */
+    public static CompressedSparseRowGraph relabel(AbstractGraph graph, int[] perm) {
+        int n = graph.getVertexCount();
+        if (perm.length != n) throw new IllegalArgumentException("Permutação com tamanho diferente do nº de vértices.");
+
+        int m = graph.getEdgeCount();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int[] count = new int[1];
+        for (int u = 0; u < n; u++) {
+            int newU = perm[u];
+            graph.forEachSuccessor(u, (v, w) -> {
+                sources[count[0]] = newU;
+                targets[count[0]] = perm[v];
+                weights[count[0]] = w;
+                count[0]++;
+            });
+        }
+
+        CompressedSparseRowGraph result = new CompressedSparseRowGraph(n, sources, targets, weights, count[0]);
+        for (int v = 0; v < n; v++) {
+            result.setVertexWeight(perm[v], graph.getVertexWeight(v));
+        }
+        return result;
+    }
+
+    private static int[] totalDegrees(AbstractGraph graph) {
+        int n = graph.getVertexCount();
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            degree[v] = graph.getVertexInDegree(v) + graph.getVertexOutDegree(v);
+        }
+        return degree;
+    }
+
+    private static int[] degreeOrder(AbstractGraph graph) {
+        int n = graph.getVertexCount();
+        int[] degree = totalDegrees(graph);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> degree[a] != degree[b] ? Integer.compare(degree[b], degree[a]) : Integer.compare(a, b));
+
+        int[] perm = new int[n];
+        for (int pos = 0; pos < n; pos++) perm[order[pos]] = pos;
+        return perm;
+    }
+
+    private static int[] bfsOrder(AbstractGraph graph, boolean cuthillMcKee) {
+        int n = graph.getVertexCount();
+        int[] degree = totalDegrees(graph);
+
+        // Sementes: RCM começa pelos vértices de menor grau (periféricos); BFS simples, pelos hubs
+        Integer[] seeds = new Integer[n];
+        for (int i = 0; i < n; i++) seeds[i] = i;
+        Arrays.sort(seeds, (a, b) -> cuthillMcKee
+                ? Integer.compare(degree[a], degree[b])
+                : Integer.compare(degree[b], degree[a]));
+
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int[] tail = {0};
+        long[] neighbors = new long[16];
+        int head = 0;
+
+        for (int seed : seeds) {
+            if (visited[seed]) continue;
+            visited[seed] = true;
+            order[tail[0]++] = seed;
+
+            while (head < tail[0]) {
+                int u = order[head++];
+                int firstNew = tail[0];
+                IntDoubleConsumer visit = (v, w) -> {
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        order[tail[0]++] = v;
+                    }
+                };
+                graph.forEachSuccessor(u, visit);
+                graph.forEachPredecessor(u, visit);
+
+                if (cuthillMcKee) {
+                    // Vizinhos recém-descobertos entram na fila por grau crescente
+                    int k = tail[0] - firstNew;
+                    if (k > neighbors.length) neighbors = new long[Math.max(k, neighbors.length * 2)];
+                    for (int i = 0; i < k; i++) {
+                        int v = order[firstNew + i];
+                        neighbors[i] = ((long) degree[v] << 32) | v;
+                    }
+                    Arrays.sort(neighbors, 0, k);
+                    for (int i = 0; i < k; i++) {
+                        order[firstNew + i] = (int) neighbors[i];
+                    }
+                }
+            }
+        }
+
+        int[] perm = new int[n];
+        for (int pos = 0; pos < n; pos++) {
+            int newIndex = cuthillMcKee ? n - 1 - pos : pos;
+            perm[order[pos]] = newIndex;
+        }
+        return perm;
+    }
+}
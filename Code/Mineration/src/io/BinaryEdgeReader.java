@@ -0,0 +1,162 @@
+package io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Leitor do formato binário gerado por {@code GraphModel.exportEdgesBinary}.
+ * Os logins já vêm em ordem alfabética e as arestas ordenadas por (origem, destino) e sem repetição,
+ * então não há texto a interpretar nem ordenação a refazer; count e tags são mantidos em {@link EdgeAttributes}.
+ * Nomes de tag compostos do grafo integrado ("pr_approved+pr_review") são separados, como no leitor de CSV.
+ * Um arquivo ".bin.gz" é lido pelo mesmo caminho, descomprimido em fluxo.
+ */
+class BinaryEdgeReader {
+    /** Mesmos valores de mineracao.GraphModel (os pacotes de mineração e análise não dependem um do outro). */
+    static final int MAGIC = 0x54474245;
+    static final int VERSION = 1;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+    private BinaryEdgeReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.limit(0);
+    }
+
+    static GraphLoader.ParsedEdges read(Path path) throws IOException {
+        if (path.getFileName().toString().endsWith(".gz")) {
+            try (ReadableByteChannel channel = Channels.newChannel(
+                    new GZIPInputStream(Files.newInputStream(path), 64 * 1024))) {
+                return new BinaryEdgeReader(channel).readAll(path);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new BinaryEdgeReader(channel).readAll(path);
+        }
+    }
+
+    private GraphLoader.ParsedEdges readAll(Path path) throws IOException {
+        if (readInt() != MAGIC) throw new IOException("Arquivo não é uma lista binária de arestas: " + path);
+        int version = readInt();
+        if (version != VERSION) throw new IOException("Versão de lista binária não suportada: " + version);
+
+        String[] logins = readStrings();
+        String[] rawTags = readStrings();
+        String[] tagNames = splitTagNames(rawTags);
+        int[][] components = tagComponents(rawTags, tagNames);
+        int n = logins.length;
+        int m = readInt();
+
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        int[] counts = new int[m];
+        int[][] tagColumns = new int[tagNames.length][m];
+
+        long previous = -1;
+        for (int i = 0; i < m; i++) {
+            int u = readInt();
+            int v = readInt();
+            if (u < 0 || u >= n || v < 0 || v >= n) throw new IOException("Vértice fora do intervalo na aresta " + i);
+            long key = (long) u * n + v;
+            if (key <= previous) throw new IOException("Arestas fora de ordem ou repetidas na posição " + i);
+            if (u == v) throw new IOException("Laço na aresta " + i);
+            previous = key;
+
+            sources[i] = u;
+            targets[i] = v;
+            weights[i] = readDouble();
+            counts[i] = readInt();
+            int tags = readInt();
+            for (int t = 0; t < tags; t++) {
+                int tag = readInt();
+                int count = readInt();
+                if (tag < 0 || tag >= rawTags.length) throw new IOException("Tag inválida na aresta " + i);
+                for (int c : components[tag]) tagColumns[c][i] += count;
+            }
+        }
+
+        GraphLoader.ParsedEdges parsed = new GraphLoader.ParsedEdges();
+        parsed.logins = logins;
+        parsed.sources = sources;
+        parsed.targets = targets;
+        parsed.weights = weights;
+        parsed.edgeCount = m;
+        parsed.attributes = new EdgeAttributes(counts, tagNames, tagColumns);
+        return parsed;
+    }
+
+    private static String[] splitTagNames(String[] rawTags) {
+        Set<String> names = new TreeSet<>();
+        for (String raw : rawTags) {
+            for (String part : raw.split("\\+")) {
+                if (!part.isEmpty()) names.add(part);
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /** Para cada tag gravada, os índices (em tagNames) das tags que a compõem. */
+    private static int[][] tagComponents(String[] rawTags, String[] tagNames) {
+        int[][] components = new int[rawTags.length][];
+        for (int t = 0; t < rawTags.length; t++) {
+            components[t] = Arrays.stream(rawTags[t].split("\\+"))
+                    .filter(part -> !part.isEmpty())
+                    .distinct()
+                    .mapToInt(part -> Arrays.binarySearch(tagNames, part))
+                    .toArray();
+        }
+        return components;
+    }
+
+    private String[] readStrings() throws IOException {
+        int count = readInt();
+        String[] values = new String[count];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < count; i++) {
+            int length = readInt();
+            if (length > scratch.length) scratch = new byte[Math.max(length, scratch.length * 2)];
+            int done = 0;
+            while (done < length) {
+                require(1);
+                int chunk = Math.min(length - done, buffer.remaining());
+                buffer.get(scratch, done, chunk);
+                done += chunk;
+            }
+            values[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private int readInt() throws IOException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    private double readDouble() throws IOException {
+        require(8);
+        return buffer.getDouble();
+    }
+
+    /** Garante ao menos bytes disponíveis no buffer, lendo mais do arquivo quando necessário. */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) return;
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) throw new EOFException("Lista binária de arestas truncada.");
+        }
+        buffer.flip();
+    }
+}
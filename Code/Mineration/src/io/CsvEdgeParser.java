@@ -0,0 +1,655 @@
+package io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Leitura paralela dos CSVs de arestas (source,target,weight[,count,tags]).
+ * O arquivo é mapeado em memória, dividido em blocos alinhados a quebras de linha e cada bloco é
+ * interpretado byte a byte em paralelo, com dicionário local de logins e vetores primitivos de arestas.
+ * Ao final os dicionários são unificados (logins em ordem alfabética, como antes) e as linhas repetidas
+ * (source, target) são combinadas segundo a {@link GraphLoader.DuplicatePolicy}.
+ *
+ * Quando o cabeçalho traz as colunas count e tags (formato de {@code GraphModel.exportEdgesCsv}),
+ * elas viram {@link EdgeAttributes}: tags no formato "nome:contagem;nome:contagem", em que nomes
+ * compostos do grafo integrado ("pr_approved+pr_review") somam a contagem em cada tag componente.
+ * Em arestas repetidas count e tags são sempre somados. Laços são descartados aqui, como em todas
+ * as representações, para que a posição de cada aresta coincida com o id da aresta na CSR.
+ *
+ * Arquivos ".gz" não podem ser mapeados: são descomprimidos em fluxo e cortados em blocos de
+ * {@value #STREAM_BLOCK} bytes alinhados a quebras de linha, interpretados em paralelo enquanto
+ * o próximo bloco é descomprimido.
+ */
+class CsvEdgeParser {
+    private static final long MIN_CHUNK = 1L << 20;
+    private static final long MAX_CHUNK = 256L << 20;
+    private static final int STREAM_BLOCK = 8 << 20;
+
+    static GraphLoader.ParsedEdges parse(Path path, GraphLoader.DuplicatePolicy policy) throws IOException {
+        if (path.getFileName().toString().endsWith(".gz")) return parseGzip(path, policy);
+        List<ChunkResult> chunks;
+        boolean withAttributes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            withAttributes = hasAttributeColumns(channel);
+            long[] bounds = chunkBounds(channel);
+            int count = bounds.length - 1;
+            try {
+                chunks = IntStream.range(0, count).parallel()
+                        .mapToObj(i -> parseChunk(channel, bounds[i], bounds[i + 1], withAttributes))
+                        .collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return merge(chunks, policy, withAttributes);
+    }
+
+    private static boolean hasAttributeColumns(FileChannel channel) throws IOException {
+        long end = nextLineStart(channel, 0, channel.size());
+        ByteBuffer header = ByteBuffer.allocate((int) Math.min(end, 64 * 1024));
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) { }
+        return isAttributeHeader(new String(header.array(), 0, header.position(), StandardCharsets.UTF_8));
+    }
+
+    /** O cabeçalho tem as colunas count e tags nas posições 4 e 5? */
+    private static boolean isAttributeHeader(String header) {
+        String[] columns = header.trim().split(",");
+        return columns.length >= 5
+                && columns[3].trim().equalsIgnoreCase("count")
+                && columns[4].trim().equalsIgnoreCase("tags");
+    }
+
+    // ---------------- divisão em blocos ----------------
+
+    /** Limites dos blocos: o primeiro começa após o cabeçalho e todos terminam logo após um '\n'. */
+    private static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long chunk = Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, size / (4L * parallelism)));
+
+        List<Long> bounds = new ArrayList<>();
+        long start = nextLineStart(channel, 0, size); // pula o cabeçalho
+        bounds.add(start);
+        while (start < size) {
+            long end = start + chunk >= size ? size : nextLineStart(channel, start + chunk, size);
+            bounds.add(end);
+            start = end;
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    /** Posição logo após o próximo '\n' a partir de from (ou o fim do arquivo). */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(64 * 1024);
+        long pos = from;
+        while (pos < size) {
+            window.clear();
+            int read = channel.read(window, pos);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') return pos + i + 1;
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    // ---------------- entrada comprimida ----------------
+
+    private static GraphLoader.ParsedEdges parseGzip(Path path, GraphLoader.DuplicatePolicy policy) throws IOException {
+        int inFlight = Runtime.getRuntime().availableProcessors() + 1;
+        List<ChunkResult> chunks = new ArrayList<>();
+        Deque<CompletableFuture<ChunkResult>> pending = new ArrayDeque<>();
+        boolean withAttributes = false;
+        boolean headerRead = false;
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path), 64 * 1024)) {
+            byte[] block = new byte[STREAM_BLOCK];
+            int filled = 0;
+            boolean eof = false;
+            while (!eof || filled > 0) {
+                if (!eof) {
+                    int read = in.readNBytes(block, filled, block.length - filled);
+                    filled += read;
+                    eof = filled < block.length;
+                }
+                int end = eof ? filled : lastLineEnd(block, filled);
+                if (end < 0) {
+                    // linha maior que o bloco: aumenta o bloco e continua lendo
+                    block = Arrays.copyOf(block, block.length * 2);
+                    continue;
+                }
+                int start = 0;
+                if (!headerRead) {
+                    start = firstLineEnd(block, end);
+                    withAttributes = isAttributeHeader(new String(block, 0, start, StandardCharsets.UTF_8));
+                    headerRead = true;
+                }
+                byte[] chunk = Arrays.copyOfRange(block, start, end);
+                boolean attributes = withAttributes;
+                pending.add(CompletableFuture.supplyAsync(() -> parseBuffer(ByteBuffer.wrap(chunk), attributes)));
+                if (pending.size() >= inFlight) chunks.add(join(pending.poll()));
+
+                System.arraycopy(block, end, block, 0, filled - end);
+                filled -= end;
+            }
+        }
+        while (!pending.isEmpty()) chunks.add(join(pending.poll()));
+        return merge(chunks, policy, withAttributes);
+    }
+
+    /** Posição logo após o último '\n' em bytes[0..length), ou -1 se não houver. */
+    private static int lastLineEnd(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') return i + 1;
+        }
+        return -1;
+    }
+
+    private static int firstLineEnd(byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == '\n') return i + 1;
+        }
+        return length;
+    }
+
+    private static ChunkResult join(CompletableFuture<ChunkResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    // ---------------- interpretação de um bloco ----------------
+
+    private static ChunkResult parseChunk(FileChannel channel, long start, long end, boolean withAttributes) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            return parseBuffer(buffer, withAttributes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ChunkResult parseBuffer(ByteBuffer buffer, boolean withAttributes) {
+        ChunkParser parser = new ChunkParser(buffer, withAttributes);
+        parser.run();
+        return parser.result;
+    }
+
+    /**
+     * Arestas de um bloco, com ids locais ao dicionário do bloco. Com atributos, as tags da linha e ficam
+     * em tagIds/tagCounts[tagStart[e]..tagStart[e + 1]), com ids locais à tabela de tags do bloco.
+     */
+    private static final class ChunkResult {
+        final NameTable logins = new NameTable();
+        final NameTable tags = new NameTable();
+        int[] sources = new int[1024];
+        int[] targets = new int[1024];
+        double[] weights = new double[1024];
+        int[] counts = new int[1024];
+        int[] tagStart = new int[1025];
+        int[] tagIds = new int[1024];
+        int[] tagCounts = new int[1024];
+        int size;
+
+        void add(int u, int v, double w, int count) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+                tagStart = Arrays.copyOf(tagStart, size * 2 + 1);
+            }
+            sources[size] = u;
+            targets[size] = v;
+            weights[size] = w;
+            counts[size] = count;
+            size++;
+            tagStart[size] = tagStart[size - 1];
+        }
+
+        /** Acrescenta uma tag à última linha adicionada. */
+        void addTag(int tag, int count) {
+            int i = tagStart[size];
+            if (i == tagIds.length) {
+                tagIds = Arrays.copyOf(tagIds, i * 2);
+                tagCounts = Arrays.copyOf(tagCounts, i * 2);
+            }
+            tagIds[i] = tag;
+            tagCounts[i] = count;
+            tagStart[size] = i + 1;
+        }
+    }
+
+    private static final class ChunkParser {
+        private final ByteBuffer buf;
+        private final int limit;
+        private final boolean withAttributes;
+        private int pos;
+        private boolean endOfLine;
+
+        private final Field source = new Field();
+        private final Field target = new Field();
+        private final Field weight = new Field();
+        private final Field count = new Field();
+        private final Field tags = new Field();
+        final ChunkResult result = new ChunkResult();
+
+        ChunkParser(ByteBuffer buf, boolean withAttributes) {
+            this.buf = buf;
+            this.limit = buf.limit();
+            this.withAttributes = withAttributes;
+        }
+
+        void run() {
+            while (pos < limit) {
+                // Linhas com menos de 3 campos são ignoradas, como no leitor anterior
+                readField(source);
+                if (endOfLine) continue;
+                readField(target);
+                if (endOfLine) continue;
+                readField(weight);
+                count.length = 0;
+                tags.length = 0;
+                if (withAttributes && !endOfLine) readField(count);
+                if (withAttributes && !endOfLine) readField(tags);
+                if (!endOfLine) skipLine();
+                if (weight.length == 0) continue;
+
+                double w = weight.parseDouble();
+                int u = result.logins.intern(source.bytes, 0, source.length);
+                int v = result.logins.intern(target.bytes, 0, target.length);
+                result.add(u, v, w, count.length == 0 ? 0 : count.parseInt(0, count.length));
+                if (tags.length > 0) readTags();
+            }
+        }
+
+        /** "a:2;b+c:1" -> (a, 2), (b, 1), (c, 1); sem ":contagem" a tag conta uma vez. */
+        private void readTags() {
+            byte[] bytes = tags.bytes;
+            int from = 0;
+            while (from < tags.length) {
+                int end = from;
+                while (end < tags.length && bytes[end] != ';') end++;
+                int colon = end;
+                while (colon > from && bytes[colon - 1] != ':') colon--;
+                int nameEnd = colon > from ? colon - 1 : end;
+                int n = colon > from && colon < end ? tags.parseInt(colon, end) : 1;
+                int part = from;
+                for (int i = from; i <= nameEnd; i++) {
+                    if (i == nameEnd || bytes[i] == '+') {
+                        if (i > part) result.addTag(result.tags.intern(bytes, part, i - part), n);
+                        part = i + 1;
+                    }
+                }
+                from = end + 1;
+            }
+        }
+
+        /** Lê um campo (com suporte a aspas e "" escapado), removendo espaços nas pontas. */
+        private void readField(Field field) {
+            field.length = 0;
+            endOfLine = false;
+            boolean quoted = false;
+            int lastNonSpace = 0;
+            while (pos < limit) {
+                byte b = buf.get(pos++);
+                if (quoted) {
+                    if (b == '"') {
+                        if (pos < limit && buf.get(pos) == '"') {
+                            field.append(b);
+                            pos++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(b);
+                    }
+                    lastNonSpace = field.length;
+                    continue;
+                }
+                if (b == ',') break;
+                if (b == '\n') { endOfLine = true; break; }
+                if (b == '\r') continue;
+                if (b == '"' && field.length == 0) { quoted = true; continue; }
+                if ((b == ' ' || b == '\t') && field.length == 0) continue;
+                field.append(b);
+                if (b != ' ' && b != '\t') lastNonSpace = field.length;
+            }
+            if (pos >= limit) endOfLine = true;
+            field.length = lastNonSpace;
+        }
+
+        private void skipLine() {
+            while (pos < limit && buf.get(pos++) != '\n') { }
+        }
+    }
+
+    /** Campo em bytes reaproveitado entre linhas. */
+    private static final class Field {
+        byte[] bytes = new byte[64];
+        int length;
+
+        void append(byte b) {
+            if (length == bytes.length) bytes = Arrays.copyOf(bytes, length * 2);
+            bytes[length++] = b;
+        }
+
+        /**
+         * Caminho rápido para decimais simples (ex.: "68.0"): mantissa inteira dividida por potência de 10,
+         * que é exata para mantissas < 2^53 e até 22 casas. Demais formatos usam Double.parseDouble.
+         */
+        double parseDouble() {
+            int i = 0;
+            boolean negative = false;
+            if (bytes[0] == '-' || bytes[0] == '+') {
+                negative = bytes[0] == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int fraction = -1;
+            for (; i < length; i++) {
+                byte b = bytes[i];
+                if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fraction >= 0) fraction++;
+                } else if (b == '.' && fraction < 0) {
+                    fraction = 0;
+                } else {
+                    return slowParse();
+                }
+            }
+            if (digits == 0 || digits > 15 || fraction > 22) return slowParse();
+            double value = mantissa;
+            if (fraction > 0) value /= POW10[fraction];
+            return negative ? -value : value;
+        }
+
+        private double slowParse() {
+            return Double.parseDouble(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+
+        /** Inteiro em bytes[from..to); formatos fora de dígitos simples usam Integer.parseInt. */
+        int parseInt(int from, int to) {
+            if (to - from > 0 && to - from <= 9) {
+                int value = 0;
+                int i = from;
+                for (; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++) value = value * 10 + (bytes[i] - '0');
+                if (i == to) return value;
+            }
+            return Integer.parseInt(new String(bytes, from, to - from, StandardCharsets.UTF_8).trim());
+        }
+    }
+
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10.0;
+    }
+
+    /**
+     * Dicionário nome -> id local (logins e tags) em endereçamento aberto sobre os bytes UTF-8,
+     * criando uma String apenas na primeira ocorrência de cada nome.
+     */
+    private static final class NameTable {
+        // hash nos 32 bits altos e id + 1 nos baixos (0 = vazio): a sondagem compara o hash sem outro acesso à memória
+        private long[] slots = new long[1024];
+        private byte[] arena = new byte[8192];
+        private int[] offsets = new int[513];
+        final List<String> names = new ArrayList<>();
+
+        int intern(byte[] key, int from, int length) {
+            int h = hash(key, from, length);
+            int mask = slots.length - 1;
+            int i = h & mask;
+            long slot;
+            while ((slot = slots[i]) != 0) {
+                int id = (int) slot - 1;
+                if ((int) (slot >>> 32) == h && equalsAt(id, key, from, length)) return id;
+                i = (i + 1) & mask;
+            }
+            int id = names.size();
+            store(id, key, from, length);
+            slots[i] = ((long) h << 32) | (id + 1);
+            if ((id + 1) * 2 > slots.length) rehash();
+            return id;
+        }
+
+        private static int hash(byte[] key, int from, int length) {
+            int h = 0x811C9DC5;
+            for (int i = from; i < from + length; i++) {
+                h ^= key[i];
+                h *= 0x01000193;
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private boolean equalsAt(int id, byte[] key, int from, int length) {
+            int start = offsets[id];
+            if (offsets[id + 1] - start != length) return false;
+            for (int i = 0; i < length; i++) {
+                if (arena[start + i] != key[from + i]) return false;
+            }
+            return true;
+        }
+
+        private void store(int id, byte[] key, int from, int length) {
+            if (id + 1 == offsets.length) offsets = Arrays.copyOf(offsets, id * 2 + 1);
+            int start = offsets[id];
+            if (start + length > arena.length) arena = Arrays.copyOf(arena, Math.max(arena.length * 2, start + length));
+            System.arraycopy(key, from, arena, start, length);
+            offsets[id + 1] = start + length;
+            names.add(new String(key, from, length, StandardCharsets.UTF_8));
+        }
+
+        private void rehash() {
+            long[] fresh = new long[slots.length * 2];
+            int mask = fresh.length - 1;
+            for (long slot : slots) {
+                if (slot == 0) continue;
+                int i = (int) (slot >>> 32) & mask;
+                while (fresh[i] != 0) i = (i + 1) & mask;
+                fresh[i] = slot;
+            }
+            slots = fresh;
+        }
+    }
+
+    // ---------------- unificação ----------------
+
+    private static GraphLoader.ParsedEdges merge(List<ChunkResult> chunks, GraphLoader.DuplicatePolicy policy,
+                                                 boolean withAttributes) {
+        String[] logins = globalNames(chunks, false);
+        Map<String, Integer> loginIndex = indexOf(logins);
+        String[] tagNames = withAttributes ? globalNames(chunks, true) : new String[0];
+        Map<String, Integer> tagIndex = indexOf(tagNames);
+
+        Rows rows = new Rows();
+        int total = 0;
+        int tagTotal = 0;
+        for (ChunkResult c : chunks) {
+            total += c.size;
+            tagTotal += c.tagStart[c.size];
+        }
+        rows.sources = new int[total];
+        rows.targets = new int[total];
+        rows.weights = new double[total];
+        if (withAttributes) {
+            rows.counts = new int[total];
+            rows.tagStart = new int[total + 1];
+            rows.tagIds = new int[tagTotal];
+            rows.tagCounts = new int[tagTotal];
+        }
+        int k = 0;
+        int t = 0;
+        for (ChunkResult c : chunks) {
+            int[] remap = remap(c.logins, loginIndex);
+            int[] tagRemap = remap(c.tags, tagIndex);
+            for (int e = 0; e < c.size; e++) {
+                rows.sources[k] = remap[c.sources[e]];
+                rows.targets[k] = remap[c.targets[e]];
+                rows.weights[k] = c.weights[e];
+                if (withAttributes) {
+                    rows.counts[k] = c.counts[e];
+                    for (int i = c.tagStart[e]; i < c.tagStart[e + 1]; i++) {
+                        rows.tagIds[t] = tagRemap[c.tagIds[i]];
+                        rows.tagCounts[t] = c.tagCounts[i];
+                        t++;
+                    }
+                    rows.tagStart[k + 1] = t;
+                }
+                k++;
+            }
+        }
+        rows.total = total;
+
+        GraphLoader.ParsedEdges parsed = new GraphLoader.ParsedEdges();
+        parsed.logins = logins;
+        combineDuplicates(parsed, logins.length, rows, tagNames, policy);
+        return parsed;
+    }
+
+    /** Linhas de todos os blocos com ids globais (colunas de atributos null quando o CSV não as tem). */
+    private static final class Rows {
+        int[] sources;
+        int[] targets;
+        double[] weights;
+        int[] counts;
+        int[] tagStart;
+        int[] tagIds;
+        int[] tagCounts;
+        int total;
+    }
+
+    private static String[] globalNames(List<ChunkResult> chunks, boolean tags) {
+        Set<String> all = new HashSet<>();
+        for (ChunkResult c : chunks) all.addAll((tags ? c.tags : c.logins).names);
+        String[] names = all.toArray(new String[0]);
+        Arrays.sort(names);
+        return names;
+    }
+
+    private static Map<String, Integer> indexOf(String[] names) {
+        Map<String, Integer> index = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) index.put(names[i], i);
+        return index;
+    }
+
+    private static int[] remap(NameTable table, Map<String, Integer> index) {
+        int[] remap = new int[table.names.size()];
+        for (int i = 0; i < remap.length; i++) remap[i] = index.get(table.names.get(i));
+        return remap;
+    }
+
+    /** Combinação de arestas repetidas para leitores sem atributos de aresta (ex.: GEXF). */
+    static void combineDuplicates(GraphLoader.ParsedEdges out, int n, int[] sources, int[] targets, double[] weights,
+                                  int total, GraphLoader.DuplicatePolicy policy) {
+        Rows rows = new Rows();
+        rows.sources = sources;
+        rows.targets = targets;
+        rows.weights = weights;
+        rows.total = total;
+        combineDuplicates(out, n, rows, new String[0], policy);
+    }
+
+    /**
+     * Agrupa as linhas por (source, target) com duas ordenações estáveis por contagem e combina os pesos repetidos;
+     * count e contagens de tag das linhas de um mesmo grupo são somados.
+     */
+    private static void combineDuplicates(GraphLoader.ParsedEdges out, int n, Rows rows, String[] tagNames,
+                                          GraphLoader.DuplicatePolicy policy) {
+        int total = rows.total;
+        int[] sources = rows.sources;
+        int[] targets = rows.targets;
+        double[] weights = rows.weights;
+        boolean withAttributes = rows.counts != null;
+
+        int[] order = new int[total];
+        for (int i = 0; i < total; i++) order[i] = i;
+        order = countingSort(targets, order, n);
+        order = countingSort(sources, order, n);
+
+        int[] src = new int[total];
+        int[] tgt = new int[total];
+        double[] w = new double[total];
+        // grupo (aresta final) de cada linha, para somar os atributos depois de saber quantas arestas restaram
+        int[] group = withAttributes ? new int[total] : null;
+        int m = 0;
+        for (int i = 0; i < total; i++) {
+            int e = order[i];
+            if (sources[e] == targets[e]) {
+                if (withAttributes) group[e] = -1;
+                continue;
+            }
+            if (m > 0 && src[m - 1] == sources[e] && tgt[m - 1] == targets[e]) {
+                w[m - 1] = policy == GraphLoader.DuplicatePolicy.MAX
+                        ? Math.max(w[m - 1], weights[e])
+                        : w[m - 1] + weights[e];
+                if (withAttributes) group[e] = m - 1;
+                continue;
+            }
+            src[m] = sources[e];
+            tgt[m] = targets[e];
+            w[m] = weights[e];
+            if (withAttributes) group[e] = m;
+            m++;
+        }
+        out.sources = src;
+        out.targets = tgt;
+        out.weights = w;
+        out.edgeCount = m;
+
+        if (withAttributes) {
+            int[] counts = new int[m];
+            int[][] columns = new int[tagNames.length][m];
+            for (int e = 0; e < total; e++) {
+                int g = group[e];
+                if (g < 0) continue;
+                counts[g] += rows.counts[e];
+                for (int i = rows.tagStart[e]; i < rows.tagStart[e + 1]; i++) {
+                    columns[rows.tagIds[i]][g] += rows.tagCounts[i];
+                }
+            }
+            out.attributes = new EdgeAttributes(counts, tagNames, columns);
+        }
+    }
+
+    /** Ordenação estável de order pela chave keys[e] (0..numKeys-1). */
+    static int[] countingSort(int[] keys, int[] order, int numKeys) {
+        int[] start = new int[numKeys + 1];
+        for (int e : order) start[keys[e] + 1]++;
+        for (int i = 0; i < numKeys; i++) start[i + 1] += start[i];
+        int[] sorted = new int[order.length];
+        for (int e : order) sorted[start[keys[e]]++] = e;
+        return sorted;
+    }
+}
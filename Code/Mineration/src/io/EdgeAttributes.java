@@ -0,0 +1,67 @@
+package io;
+
+import java.util.Arrays;
+
+/**
+ * Atributos das arestas vindos da mineração (count e contagem por tag), guardados em colunas primitivas.
+ * A posição i de cada coluna corresponde à i-ésima aresta na ordem (origem, destino) crescente,
+ * que é a mesma ordem das linhas do grafo CSR.
+ */
+public class EdgeAttributes {
+    private final int[] counts;
+    private final String[] tagNames;
+    private final int[][] tagColumns;
+
+    public EdgeAttributes(int[] counts, String[] tagNames, int[][] tagColumns) {
+        if (tagNames.length != tagColumns.length) {
+            throw new IllegalArgumentException("Nº de tags diferente do nº de colunas.");
+        }
+        this.counts = counts;
+        this.tagNames = tagNames;
+        this.tagColumns = tagColumns;
+    }
+
+    public int getEdgeCount() {
+        return counts.length;
+    }
+
+    /** Quantidade de eventos que formaram a aresta. */
+    public int getCount(int edge) {
+        return counts[edge];
+    }
+
+    /** Quantidade de tags distintas (colunas); a contagem de uma tag numa aresta é {@link #getTagCount(int, int)}. */
+    public int getTagTypeCount() {
+        return tagNames.length;
+    }
+
+    public String getTagName(int tag) {
+        return tagNames[tag];
+    }
+
+    /** Índice da tag pelo nome, ou -1 se ela não aparece no grafo. */
+    public int indexOfTag(String name) {
+        for (int i = 0; i < tagNames.length; i++) {
+            if (tagNames[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /** Quantas vezes a tag ocorreu na aresta (0 se não ocorreu). */
+    public int getTagCount(int edge, int tag) {
+        return tagColumns[tag][edge];
+    }
+
+    /**
+     * Colunas reordenadas: a aresta que estava na posição order[i] passa para a posição i.
+     */
+    public EdgeAttributes permute(int[] order) {
+        int[] newCounts = new int[order.length];
+        int[][] newColumns = new int[tagColumns.length][order.length];
+        for (int i = 0; i < order.length; i++) {
+            newCounts[i] = counts[order[i]];
+            for (int t = 0; t < tagColumns.length; t++) newColumns[t][i] = tagColumns[t][order[i]];
+        }
+        return new EdgeAttributes(newCounts, Arrays.copyOf(tagNames, tagNames.length), newColumns);
+    }
+}
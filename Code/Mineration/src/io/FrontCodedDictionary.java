@@ -0,0 +1,248 @@
+package io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Dicionário de logins com front coding: os logins ficam num único bloco de bytes, ordenados por UTF-8,
+ * em grupos de {@value #BUCKET}. O primeiro login de cada grupo é gravado inteiro e os demais como
+ * (tamanho do prefixo comum com o anterior, sufixo), com tamanhos em varint.
+ *
+ * Busca login -> vértice: busca binária pelos primeiros logins dos grupos e varredura de um grupo.
+ * Busca vértice -> login: decodifica até {@value #BUCKET} entradas de um grupo, sem manter String alguma
+ * e alocando só os bytes do próprio login.
+ * Quando a ordem dos vértices não é a ordem alfabética (ex.: após uma reordenação), dois vetores
+ * de permutação traduzem entre posição no bloco (rank) e índice do vértice.
+ */
+public class FrontCodedDictionary implements VertexDictionary {
+    private static final int BUCKET = 16;
+
+    private final int size;
+    private final byte[] data;
+    private final int[] bucketStart;
+    private final int maxLength;
+    // null quando rank == vértice
+    private final int[] rankToVertex;
+    private final int[] vertexToRank;
+
+    private FrontCodedDictionary(int size, byte[] data, int[] bucketStart, int maxLength,
+                                 int[] rankToVertex, int[] vertexToRank) {
+        this.size = size;
+        this.data = data;
+        this.bucketStart = bucketStart;
+        this.maxLength = maxLength;
+        this.rankToVertex = rankToVertex;
+        this.vertexToRank = vertexToRank;
+    }
+
+    /**
+     * Monta o dicionário a partir de logins[v] = login do vértice v (em qualquer ordem, sem repetição).
+     */
+    public static FrontCodedDictionary build(String[] logins) {
+        int n = logins.length;
+        byte[][] bytes = new byte[n][];
+        boolean sorted = true;
+        for (int v = 0; v < n; v++) {
+            bytes[v] = logins[v].getBytes(StandardCharsets.UTF_8);
+            if (v > 0 && Arrays.compareUnsigned(bytes[v - 1], bytes[v]) >= 0) sorted = false;
+        }
+
+        int[] rankToVertex = null;
+        int[] vertexToRank = null;
+        byte[][] ordered = bytes;
+        if (!sorted) {
+            Integer[] order = new Integer[n];
+            for (int v = 0; v < n; v++) order[v] = v;
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(bytes[a], bytes[b]));
+            rankToVertex = new int[n];
+            vertexToRank = new int[n];
+            ordered = new byte[n][];
+            for (int r = 0; r < n; r++) {
+                rankToVertex[r] = order[r];
+                vertexToRank[order[r]] = r;
+                ordered[r] = bytes[order[r]];
+            }
+        }
+
+        int[] bucketStart = new int[(n + BUCKET - 1) / BUCKET];
+        Sink sink = new Sink();
+        int maxLength = 0;
+        for (int r = 0; r < n; r++) {
+            byte[] current = ordered[r];
+            maxLength = Math.max(maxLength, current.length);
+            if (r > 0 && Arrays.compareUnsigned(ordered[r - 1], current) == 0) {
+                throw new IllegalArgumentException("Login repetido no dicionário: " + logins[rankToVertex == null ? r : rankToVertex[r]]);
+            }
+            if (r % BUCKET == 0) {
+                bucketStart[r / BUCKET] = sink.size;
+                sink.writeVarint(current.length);
+                sink.write(current, 0, current.length);
+            } else {
+                byte[] previous = ordered[r - 1];
+                int prefix = Arrays.mismatch(previous, current);
+                if (prefix < 0) prefix = current.length;
+                sink.writeVarint(prefix);
+                sink.writeVarint(current.length - prefix);
+                sink.write(current, prefix, current.length - prefix);
+            }
+        }
+
+        return new FrontCodedDictionary(n, Arrays.copyOf(sink.bytes, sink.size), bucketStart, maxLength,
+                rankToVertex, vertexToRank);
+    }
+
+    /**
+     * O mesmo dicionário com os vértices renumerados por perm (perm[antigo] = novo); o bloco de bytes é compartilhado.
+     */
+    public FrontCodedDictionary withPermutation(int[] perm) {
+        if (perm.length != size) throw new IllegalArgumentException("Permutação com tamanho diferente do dicionário.");
+        int[] newRankToVertex = new int[size];
+        int[] newVertexToRank = new int[size];
+        for (int r = 0; r < size; r++) {
+            int v = perm[rankToVertex == null ? r : rankToVertex[r]];
+            newRankToVertex[r] = v;
+            newVertexToRank[v] = r;
+        }
+        return new FrontCodedDictionary(size, data, bucketStart, maxLength, newRankToVertex, newVertexToRank);
+    }
+
+    /** Memória aproximada ocupada pelo dicionário (bloco, índices dos grupos e permutações). */
+    public long getSizeInBytes() {
+        long bytes = data.length + 4L * bucketStart.length;
+        if (rankToVertex != null) bytes += 8L * size;
+        return bytes;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String loginOf(int vertex) {
+        Objects.checkIndex(vertex, size);
+        int rank = vertexToRank == null ? vertex : vertexToRank[vertex];
+        return new String(decode(rank), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Bytes UTF-8 do login na posição rank, num vetor do tamanho exato dele (o exportador chama loginOf
+     * uma vez por nó). 1ª passada: só os tamanhos, até a entrada pedida. 2ª passada: cada entrada grava
+     * o seu sufixo por cima do anterior, limitado ao tamanho final; o que sobra no fim é a entrada pedida.
+     */
+    private byte[] decode(int rank) {
+        int start = bucketStart[rank / BUCKET];
+        int entries = rank % BUCKET;
+        int[] pos = {start};
+        int length = 0;
+        for (int i = 0; i <= entries; i++) {
+            int prefix = i == 0 ? 0 : readVarint(pos);
+            int suffix = readVarint(pos);
+            pos[0] += suffix;
+            length = prefix + suffix;
+        }
+
+        byte[] login = new byte[length];
+        pos[0] = start;
+        for (int i = 0; i <= entries; i++) {
+            int prefix = i == 0 ? 0 : readVarint(pos);
+            int suffix = readVarint(pos);
+            if (prefix < length) System.arraycopy(data, pos[0], login, prefix, Math.min(suffix, length - prefix));
+            pos[0] += suffix;
+        }
+        return login;
+    }
+
+    @Override
+    public int indexOf(String login) {
+        if (login == null || size == 0) return -1;
+        byte[] key = login.getBytes(StandardCharsets.UTF_8);
+        if (key.length > maxLength) return -1;
+
+        // último grupo cujo primeiro login é <= key
+        int lo = 0;
+        int hi = bucketStart.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (compareHead(mid, key) <= 0) lo = mid;
+            else hi = mid - 1;
+        }
+
+        Cursor c = new Cursor(lo);
+        int end = Math.min(BUCKET, size - lo * BUCKET);
+        for (int i = 0; i < end; i++) {
+            c.next();
+            int cmp = Arrays.compareUnsigned(c.current, 0, c.length, key, 0, key.length);
+            if (cmp == 0) {
+                int rank = lo * BUCKET + i;
+                return rankToVertex == null ? rank : rankToVertex[rank];
+            }
+            if (cmp > 0) break;
+        }
+        return -1;
+    }
+
+    private int compareHead(int bucket, byte[] key) {
+        int[] pos = {bucketStart[bucket]};
+        int length = readVarint(pos);
+        return Arrays.compareUnsigned(data, pos[0], pos[0] + length, key, 0, key.length);
+    }
+
+    private int readVarint(int[] pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /** Decodificação sequencial de um grupo; current guarda o login atual em UTF-8. */
+    private final class Cursor {
+        final byte[] current = new byte[maxLength];
+        int length;
+        final int[] pos;
+        boolean first = true;
+
+        Cursor(int bucket) {
+            this.pos = new int[]{bucketStart[bucket]};
+        }
+
+        void next() {
+            int prefix = first ? 0 : readVarint(pos);
+            int suffix = readVarint(pos);
+            System.arraycopy(data, pos[0], current, prefix, suffix);
+            pos[0] += suffix;
+            length = prefix + suffix;
+            first = false;
+        }
+    }
+
+    private static final class Sink {
+        byte[] bytes = new byte[1024];
+        int size;
+
+        void writeVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void write(byte[] src, int from, int length) {
+            ensure(length);
+            System.arraycopy(src, from, bytes, size, length);
+            size += length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
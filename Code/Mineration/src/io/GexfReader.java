@@ -0,0 +1,155 @@
+package io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Leitor de GEXF (o gerado por {@link GraphExporter}, pelo antigo exportToGEPHI ou editado no Gephi)
+ * em uma única passada com StAX: só os elementos node e edge são examinados e nenhuma árvore é montada.
+ *
+ * Os vértices seguem a ordem em que os nós aparecem no arquivo, então um grafo exportado e relido
+ * mantém os mesmos índices. O login de cada vértice é o label do nó (o id, se não houver label
+ * ou se o label se repetir). Arestas sem weight valem 1.0, arestas não direcionadas viram as duas
+ * direções e arestas paralelas são combinadas segundo a {@link GraphLoader.DuplicatePolicy}.
+ * Nós citados só por arestas são criados com o id como login. Arquivos ".gz" são descomprimidos em fluxo.
+ */
+class GexfReader {
+    private final Map<String, Integer> vertexOfId = new HashMap<>();
+    private final List<String> logins = new ArrayList<>();
+    private final Set<String> usedLogins = new HashSet<>();
+    private int relabeled;
+
+    private int[] sources = new int[1024];
+    private int[] targets = new int[1024];
+    private double[] weights = new double[1024];
+    private int edgeCount;
+
+    static GraphLoader.ParsedEdges read(Path path, GraphLoader.DuplicatePolicy policy) throws IOException {
+        try (InputStream file = Files.newInputStream(path);
+             InputStream in = path.getFileName().toString().endsWith(".gz")
+                     ? new GZIPInputStream(file, 64 * 1024) : file) {
+            GexfReader reader = new GexfReader();
+            reader.parse(in);
+            return reader.result(policy);
+        } catch (XMLStreamException e) {
+            throw new IOException("GEXF inválido em " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void parse(InputStream in) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Sem DTD nem entidades externas: o arquivo pode vir de fora (ex.: editado no Gephi)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader xml = factory.createXMLStreamReader(in);
+        try {
+            boolean undirectedByDefault = false;
+            while (xml.hasNext()) {
+                if (xml.next() != XMLStreamConstants.START_ELEMENT) continue;
+                switch (xml.getLocalName()) {
+                    case "graph":
+                        undirectedByDefault = "undirected".equals(xml.getAttributeValue(null, "defaultedgetype"));
+                        break;
+                    case "node":
+                        readNode(xml);
+                        break;
+                    case "edge":
+                        readEdge(xml, undirectedByDefault);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            xml.close();
+        }
+    }
+
+    private void readNode(XMLStreamReader xml) throws XMLStreamException {
+        String id = xml.getAttributeValue(null, "id");
+        if (id == null) throw new XMLStreamException("Nó sem id", xml.getLocation());
+        if (vertexOfId.containsKey(id)) {
+            throw new XMLStreamException("Nó repetido: " + id, xml.getLocation());
+        }
+        String label = xml.getAttributeValue(null, "label");
+        String login = label == null || label.isEmpty() ? id : label;
+        if (!usedLogins.add(login)) {
+            relabeled++;
+            login = id;
+            if (!usedLogins.add(login)) {
+                throw new XMLStreamException("Label repetido e id já usado como login: " + id, xml.getLocation());
+            }
+        }
+        vertexOfId.put(id, logins.size());
+        logins.add(login);
+    }
+
+    private void readEdge(XMLStreamReader xml, boolean undirectedByDefault) throws XMLStreamException {
+        String source = xml.getAttributeValue(null, "source");
+        String target = xml.getAttributeValue(null, "target");
+        if (source == null || target == null) {
+            throw new XMLStreamException("Aresta sem source/target", xml.getLocation());
+        }
+        String weightText = xml.getAttributeValue(null, "weight");
+        double weight;
+        try {
+            weight = weightText == null ? 1.0 : Double.parseDouble(weightText);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Peso inválido: " + weightText, xml.getLocation());
+        }
+        String type = xml.getAttributeValue(null, "type");
+        boolean undirected = type == null ? undirectedByDefault : "undirected".equals(type);
+
+        int u = vertexOf(source, xml);
+        int v = vertexOf(target, xml);
+        add(u, v, weight);
+        if (undirected) add(v, u, weight);
+    }
+
+    private int vertexOf(String id, XMLStreamReader xml) throws XMLStreamException {
+        Integer v = vertexOfId.get(id);
+        if (v != null) return v;
+        if (!usedLogins.add(id)) {
+            throw new XMLStreamException("Nó não declarado com id igual a um label: " + id, xml.getLocation());
+        }
+        vertexOfId.put(id, logins.size());
+        logins.add(id);
+        return logins.size() - 1;
+    }
+
+    private void add(int u, int v, double w) {
+        if (edgeCount == sources.length) {
+            sources = Arrays.copyOf(sources, edgeCount * 2);
+            targets = Arrays.copyOf(targets, edgeCount * 2);
+            weights = Arrays.copyOf(weights, edgeCount * 2);
+        }
+        sources[edgeCount] = u;
+        targets[edgeCount] = v;
+        weights[edgeCount] = w;
+        edgeCount++;
+    }
+
+    private GraphLoader.ParsedEdges result(GraphLoader.DuplicatePolicy policy) {
+        if (relabeled > 0) {
+            System.out.println("[GexfReader] Aviso: " + relabeled + " nós com label repetido usam o id como login");
+        }
+        GraphLoader.ParsedEdges parsed = new GraphLoader.ParsedEdges();
+        parsed.logins = logins.toArray(new String[0]);
+        CsvEdgeParser.combineDuplicates(parsed, parsed.logins.length, sources, targets, weights, edgeCount, policy);
+        return parsed;
+    }
+}
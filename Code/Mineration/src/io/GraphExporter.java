@@ -0,0 +1,365 @@
+package io;
+
+import estrutura.AbstractGraph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação do grafo para o Gephi (GEXF 1.2) ou GraphML, em fluxo: cada nó e aresta é escrito direto num
+ * buffer de bytes grande que descarrega num canal, sem String.format nem consultas extras de peso.
+ * Os nós levam o login como rótulo e as colunas de métricas registradas (PageRank, betweenness, comunidade...).
+ * Arquivos terminados em ".gz" são gravados comprimidos com gzip.
+ */
+public class GraphExporter {
+
+    public enum Format { GEXF, GRAPHML }
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final GraphLoader.GraphData data;
+    private final List<Column> columns = new ArrayList<>();
+
+    /** Coluna de atributo por vértice; NaN (em colunas double) indica valor ausente. */
+    private static class Column {
+        final String name;
+        final boolean integer;
+        final double[] values;
+
+        Column(String name, boolean integer, double[] values) {
+            this.name = name;
+            this.integer = integer;
+            this.values = values;
+        }
+    }
+
+    public GraphExporter(GraphLoader.GraphData data) {
+        this.data = data;
+    }
+
+    /** Coluna double indexada pelo vértice. */
+    public GraphExporter addNodeColumn(String name, double[] values) {
+        checkLength(values.length);
+        columns.add(new Column(name, false, values.clone()));
+        return this;
+    }
+
+    /** Coluna double a partir dos mapas vértice -> valor devolvidos pelas métricas de {@code analise}. */
+    public GraphExporter addNodeColumn(String name, Map<Integer, Double> values) {
+        double[] column = new double[data.graph.getVertexCount()];
+        Arrays.fill(column, Double.NaN);
+        for (Map.Entry<Integer, Double> e : values.entrySet()) column[e.getKey()] = e.getValue();
+        columns.add(new Column(name, false, column));
+        return this;
+    }
+
+    /** Coluna inteira (ex.: comunidade); valores negativos indicam ausência. */
+    public GraphExporter addNodeColumn(String name, int[] values) {
+        checkLength(values.length);
+        double[] column = new double[values.length];
+        for (int v = 0; v < values.length; v++) column[v] = values[v] < 0 ? Double.NaN : values[v];
+        columns.add(new Column(name, true, column));
+        return this;
+    }
+
+    /** Rótulo de comunidade de cada vértice (-1 para vértices fora das listas). */
+    public static int[] communityLabels(int numVertices, List<List<Integer>> communities) {
+        int[] labels = new int[numVertices];
+        Arrays.fill(labels, -1);
+        for (int c = 0; c < communities.size(); c++) {
+            for (int v : communities.get(c)) labels[v] = c;
+        }
+        return labels;
+    }
+
+    private void checkLength(int length) {
+        if (length != data.graph.getVertexCount()) {
+            throw new IllegalArgumentException("Coluna com " + length + " valores para "
+                    + data.graph.getVertexCount() + " vértices.");
+        }
+    }
+
+    public void export(Path file, Format format) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        boolean gzip = file.getFileName().toString().endsWith(".gz");
+        WritableByteChannel channel = gzip
+                ? Channels.newChannel(new FastGzipOutputStream(Files.newOutputStream(file)))
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try (XmlSink out = new XmlSink(channel)) {
+            if (format == Format.GEXF) writeGexf(out);
+            else writeGraphMl(out);
+        }
+    }
+
+    /** gzip no nível mais rápido: o XML comprime bem mesmo assim e o nível padrão domina o tempo de exportação. */
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+        FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 1 << 16);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+
+    // ---------------- GEXF ----------------
+
+    private void writeGexf(XmlSink out) throws IOException {
+        AbstractGraph graph = data.graph;
+        int n = graph.getVertexCount();
+
+        out.raw("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.raw("<gexf xmlns=\"http://www.gexf.net/1.2draft\" version=\"1.2\">\n");
+        out.raw("  <graph defaultedgetype=\"directed\">\n");
+        if (!columns.isEmpty()) {
+            out.raw("    <attributes class=\"node\">\n");
+            for (int c = 0; c < columns.size(); c++) {
+                out.raw("      <attribute id=\"").integer(c).raw("\" title=\"").text(columns.get(c).name)
+                        .raw("\" type=\"").raw(columns.get(c).integer ? "integer" : "double").raw("\"/>\n");
+            }
+            out.raw("    </attributes>\n");
+        }
+
+        out.raw("    <nodes>\n");
+        for (int v = 0; v < n; v++) {
+            out.raw("      <node id=\"").integer(v).raw("\" label=\"").text(data.dictionary.loginOf(v)).raw("\"");
+            if (columns.isEmpty()) {
+                out.raw("/>\n");
+                continue;
+            }
+            out.raw(">\n        <attvalues>");
+            for (int c = 0; c < columns.size(); c++) {
+                Column column = columns.get(c);
+                double value = column.values[v];
+                if (Double.isNaN(value)) continue;
+                out.raw("<attvalue for=\"").integer(c).raw("\" value=\"");
+                if (column.integer) out.integer((long) value);
+                else out.decimal(value);
+                out.raw("\"/>");
+            }
+            out.raw("</attvalues>\n      </node>\n");
+        }
+        out.raw("    </nodes>\n");
+
+        out.raw("    <edges>\n");
+        long[] edgeId = {0};
+        for (int u = 0; u < n; u++) {
+            final int source = u;
+            graph.forEachSuccessor(u, (v, w) -> out.raw("      <edge id=\"").integer(edgeId[0]++)
+                    .raw("\" source=\"").integer(source).raw("\" target=\"").integer(v)
+                    .raw("\" weight=\"").decimal(w).raw("\"/>\n"));
+            out.rethrow();
+        }
+        out.raw("    </edges>\n");
+        out.raw("  </graph>\n");
+        out.raw("</gexf>\n");
+    }
+
+    // ---------------- GraphML ----------------
+
+    private void writeGraphMl(XmlSink out) throws IOException {
+        AbstractGraph graph = data.graph;
+        int n = graph.getVertexCount();
+
+        out.raw("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.raw("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+        out.raw("  <key id=\"label\" for=\"node\" attr.name=\"label\" attr.type=\"string\"/>\n");
+        for (int c = 0; c < columns.size(); c++) {
+            out.raw("  <key id=\"d").integer(c).raw("\" for=\"node\" attr.name=\"").text(columns.get(c).name)
+                    .raw("\" attr.type=\"").raw(columns.get(c).integer ? "int" : "double").raw("\"/>\n");
+        }
+        out.raw("  <key id=\"weight\" for=\"edge\" attr.name=\"weight\" attr.type=\"double\"/>\n");
+        out.raw("  <graph id=\"G\" edgedefault=\"directed\">\n");
+
+        for (int v = 0; v < n; v++) {
+            out.raw("    <node id=\"n").integer(v).raw("\"><data key=\"label\">").text(data.dictionary.loginOf(v)).raw("</data>");
+            for (int c = 0; c < columns.size(); c++) {
+                Column column = columns.get(c);
+                double value = column.values[v];
+                if (Double.isNaN(value)) continue;
+                out.raw("<data key=\"d").integer(c).raw("\">");
+                if (column.integer) out.integer((long) value);
+                else out.decimal(value);
+                out.raw("</data>");
+            }
+            out.raw("</node>\n");
+        }
+
+        long[] edgeId = {0};
+        for (int u = 0; u < n; u++) {
+            final int source = u;
+            graph.forEachSuccessor(u, (v, w) -> out.raw("    <edge id=\"e").integer(edgeId[0]++)
+                    .raw("\" source=\"n").integer(source).raw("\" target=\"n").integer(v)
+                    .raw("\"><data key=\"weight\">").decimal(w).raw("</data></edge>\n"));
+            out.rethrow();
+        }
+        out.raw("  </graph>\n");
+        out.raw("</graphml>\n");
+    }
+
+    // ---------------- escrita ----------------
+
+    /**
+     * Buffer de saída com escrita de texto XML (com escape), inteiros e decimais sem alocar Strings intermediárias.
+     * Os métodos não lançam IOException para poderem ser usados dentro dos visitantes de arestas; a primeira
+     * falha fica guardada e é relançada por {@link #rethrow()} ou no fechamento.
+     */
+    private static final class XmlSink implements AutoCloseable {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] digits = new byte[20];
+        private IOException failure;
+
+        XmlSink(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        XmlSink raw(String ascii) {
+            ensure(ascii.length());
+            for (int i = 0; i < ascii.length(); i++) buffer.put((byte) ascii.charAt(i));
+            return this;
+        }
+
+        /** Texto arbitrário em UTF-8 com escape dos caracteres especiais do XML. */
+        XmlSink text(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '<': raw("&lt;"); break;
+                    case '>': raw("&gt;"); break;
+                    case '&': raw("&amp;"); break;
+                    case '"': raw("&quot;"); break;
+                    default:
+                        if (c < 0x80) {
+                            ensure(1);
+                            buffer.put((byte) c);
+                        } else {
+                            int end = i + 1;
+                            while (end < s.length() && s.charAt(end) >= 0x80) end++;
+                            byte[] bytes = s.substring(i, end).getBytes(StandardCharsets.UTF_8);
+                            ensure(bytes.length);
+                            buffer.put(bytes);
+                            i = end - 1;
+                        }
+                }
+            }
+            return this;
+        }
+
+        XmlSink integer(long value) {
+            ensure(20);
+            if (value < 0) {
+                buffer.put((byte) '-');
+                if (value == Long.MIN_VALUE) return raw("9223372036854775808");
+                value = -value;
+            }
+            int len = 0;
+            do {
+                digits[len++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (len > 0) buffer.put(digits[--len]);
+            return this;
+        }
+
+        /**
+         * Decimal com até 9 algarismos significativos: notação fixa entre 1e-5 e 1e15, científica fora disso.
+         */
+        XmlSink decimal(double value) {
+            if (Double.isNaN(value)) return raw("NaN");
+            if (Double.isInfinite(value)) return raw(value > 0 ? "INF" : "-INF");
+            if (value == 0) return raw("0.0");
+            if (value < 0) {
+                raw("-");
+                value = -value;
+            }
+            int exponent = (int) Math.floor(Math.log10(value));
+            if (exponent >= -5 && exponent < 15) {
+                int decimals = Math.max(1, 8 - exponent);
+                long scale = POW10[decimals];
+                long scaled = Math.round(value * scale);
+                integer(scaled / scale);
+                fraction(scaled % scale, decimals);
+                return this;
+            }
+            // subnormais: 10^exponent não é representável, então a divisão é feita em duas etapas
+            double normalized = exponent < -300
+                    ? value * 1e300 / Math.pow(10, exponent + 300)
+                    : value / Math.pow(10, exponent);
+            if (normalized < 1) {
+                normalized *= 10;
+                exponent--;
+            }
+            long mantissa = Math.round(normalized * 1e8);
+            if (mantissa >= 1_000_000_000L) {
+                mantissa /= 10;
+                exponent++;
+            }
+            integer(mantissa / 100_000_000L);
+            fraction(mantissa % 100_000_000L, 8);
+            raw("E");
+            return integer(exponent);
+        }
+
+        /** ".ddd" com zeros à esquerda e sem zeros à direita (mantém ao menos um algarismo). */
+        private void fraction(long value, int width) {
+            int len = width;
+            while (len > 1 && value % 10 == 0) {
+                value /= 10;
+                len--;
+            }
+            ensure(len + 1);
+            buffer.put((byte) '.');
+            for (int i = len - 1; i >= 0; i--) {
+                digits[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            buffer.put(digits, 0, len);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        private void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+            buffer.clear();
+        }
+
+        void rethrow() throws IOException {
+            if (failure != null) throw failure;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                rethrow();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static final long[] POW10 = new long[19];
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10;
+    }
+}
@@ -3,82 +3,333 @@ package io;
 import estrutura.AbstractGraph;
 import estrutura.AdjacencyListGraph;
 import estrutura.AdjacencyMatrixGraph;
+import estrutura.CompressedAdjacencyGraph;
+import estrutura.CompressedSparseRowGraph;
+import estrutura.FilteredGraph;
+import estrutura.VertexOrdering;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.IntPredicate;
 
 public class GraphLoader {
     
     public static class GraphData {
         public AbstractGraph graph;
-        public Map<String, Integer> userToIndex;
-        public Map<Integer, String> indexToUser;
+        /** Tradução login <-> índice de vértice. */
+        public VertexDictionary dictionary;
+        /** count e tags por aresta; null quando a origem não os fornece. */
+        public EdgeAttributes edgeAttributes;
 
-        public GraphData(AbstractGraph graph, Map<String, Integer> userToIndex, Map<Integer, String> indexToUser) {
+        // Cópia CSR usada como base das visões quando graph não é CSR; graph nunca é trocado por ela
+        private CompressedSparseRowGraph csrCopy;
+        private AbstractGraph csrCopySource;
+
+        public GraphData(AbstractGraph graph, VertexDictionary dictionary) {
             this.graph = graph;
-            this.userToIndex = userToIndex;
-            this.indexToUser = indexToUser;
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * Visão do grafo só com as arestas aceitas por keepEdge, que recebe o id da aresta
+         * (a mesma posição usada em {@link #edgeAttributes}). Dicionário e atributos são compartilhados e
+         * os ids continuam sendo os do grafo completo. Se o grafo não estiver em CSR, uma cópia em CSR é feita
+         * uma vez e guardada à parte ({@link #graph} continua com a representação escolhida, mas a memória da
+         * cópia se soma à dele); visões sobre visões reaproveitam o mesmo grafo base.
+         */
+        public GraphData filter(IntPredicate keepEdge) {
+            FilteredGraph view;
+            if (graph instanceof FilteredGraph) {
+                view = new FilteredGraph((FilteredGraph) graph, keepEdge);
+            } else {
+                view = new FilteredGraph(baseCsr(), keepEdge);
+            }
+            System.out.println("[GraphLoader] Visão filtrada: " + view.getEdgeCount() + " de "
+                    + view.getBase().getEdgeCount() + " arestas");
+            GraphData result = new GraphData(view, dictionary);
+            result.edgeAttributes = edgeAttributes;
+            return result;
+        }
+
+        /** Só as arestas em que a tag ocorreu ao menos uma vez (ex.: "pr_approved"). */
+        public GraphData filterByTag(String tag) {
+            if (edgeAttributes == null) {
+                throw new IllegalStateException("Grafo carregado sem atributos de aresta (count/tags).");
+            }
+            int t = edgeAttributes.indexOfTag(tag);
+            if (t < 0) throw new IllegalArgumentException("Tag inexistente no grafo: " + tag);
+            EdgeAttributes attributes = edgeAttributes;
+            return filter(e -> attributes.getTagCount(e, t) > 0);
+        }
+
+        /** Só as arestas com peso >= minWeight. */
+        public GraphData filterByMinWeight(double minWeight) {
+            CompressedSparseRowGraph base = baseCsr();
+            return filter(e -> base.getEdgeWeightById(e) >= minWeight);
+        }
+
+        private CompressedSparseRowGraph baseCsr() {
+            if (graph instanceof FilteredGraph) return ((FilteredGraph) graph).getBase();
+            if (graph instanceof CompressedSparseRowGraph) return (CompressedSparseRowGraph) graph;
+            if (csrCopy == null || csrCopySource != graph) {
+                System.out.println("[GraphLoader] Copiando " + graph.getClass().getSimpleName() + " para CSR para filtrar arestas");
+                csrCopy = new CompressedSparseRowGraph(graph);
+                csrCopySource = graph;
+            }
+            return csrCopy;
         }
     }
 
-    private static class EdgeTemp {
-        String src; String target; double weight;
-        EdgeTemp(String s, String t, double w) { src = s; target = t; weight = w; }
+    /** Arestas lidas de um arquivo: logins (índice = vértice) e arestas sem repetição, ordenadas por (origem, destino). */
+    static class ParsedEdges {
+        String[] logins;
+        int[] sources;
+        int[] targets;
+        double[] weights;
+        int edgeCount;
+        EdgeAttributes attributes;
     }
 
-    public static GraphData loadGraph(String csvPath, boolean useMatrix) throws IOException {
-        Path path = Path.of(csvPath);
-        if (!Files.exists(path)) throw new IOException("Arquivo não encontrado: " + csvPath);
+    /**
+     * Como combinar linhas repetidas (source, target) no CSV: soma dos pesos ou maior peso.
+     */
+    public enum DuplicatePolicy { SUM, MAX }
 
-        Set<String> users = new HashSet<>();
-        List<EdgeTemp> tempEdges = new ArrayList<>();
+    /**
+     * Estrutura usada para guardar a adjacência do grafo carregado.
+     * AUTO escolhe com base no nº de vértices, nº de arestas e heap disponível.
+     */
+    public enum Representation {
+        AUTO,
+        /** Matriz de bits: O(n²) bits, consulta hasEdge O(1); só compensa em grafos densos. */
+        MATRIX,
+        /** Listas com HashMap por vértice: mutável, porém com alto custo por aresta. */
+        HASH_LIST,
+        /** CSR imutável (vetores ordenados): menor consumo para grafos esparsos. */
+        COMPACT,
+        /** Linhas comprimidas por gaps em varint: para grafos que não cabem no heap em CSR. */
+        COMPRESSED
+    }
 
-        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            String line = br.readLine(); 
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length < 3) continue;
+    /** Fração do heap livre que uma representação pode ocupar para ser considerada viável. */
+    private static final double HEAP_BUDGET_FRACTION = 0.5;
 
-                String u = parts[0].trim();
-                String v = parts[1].trim();
-                double w = Double.parseDouble(parts[2].trim());
+    public static GraphData loadGraph(String csvPath) throws IOException {
+        return loadGraph(csvPath, Representation.AUTO);
+    }
 
-                users.add(u);
-                users.add(v);
-                tempEdges.add(new EdgeTemp(u, v, w));
-            }
-        }
+    public static GraphData loadGraph(String csvPath, Representation representation) throws IOException {
+        return loadGraph(csvPath, representation, DuplicatePolicy.SUM);
+    }
+
+    /**
+     * Carrega o grafo de um CSV de arestas ou, se o caminho terminar em ".bin", da lista binária
+     * gerada pela mineração (que já traz count e tags em {@link GraphData#edgeAttributes}).
+     * Um ".gexf" (exportado por {@link GraphExporter} ou editado no Gephi) também é aceito, com os vértices
+     * na ordem dos nós do arquivo. Todos os formatos podem vir comprimidos em gzip (".csv.gz", ".bin.gz", ".gexf.gz").
+     */
+    public static GraphData loadGraph(String path, Representation representation, DuplicatePolicy duplicates)
+            throws IOException {
+        String format = path.endsWith(".gz") ? path.substring(0, path.length() - 3) : path;
+        ParsedEdges parsed;
+        if (format.endsWith(".bin")) parsed = readBinaryEdges(path);
+        else if (format.endsWith(".gexf")) parsed = readGexf(path, duplicates);
+        else parsed = readEdges(path, duplicates);
+        GraphData data = buildGraph(parsed, representation);
+        data.edgeAttributes = parsed.attributes;
+        return data;
+    }
+
+    private static GraphData buildGraph(ParsedEdges parsed, Representation representation) {
+        int n = parsed.logins.length;
+        int m = parsed.edgeCount;
+
+        FrontCodedDictionary dictionary = FrontCodedDictionary.build(parsed.logins);
+        parsed.logins = null; // as Strings só eram necessárias para montar o dicionário
+        System.out.println("[GraphLoader] Dicionário de logins: " + formatBytes(dictionary.getSizeInBytes()));
+
+        Representation chosen = chooseRepresentation(representation, n, m, availableHeap());
 
-        Map<String, Integer> userToIndex = new HashMap<>();
-        Map<Integer, String> indexToUser = new HashMap<>();
-        int idx = 0;
-        List<String> sortedUsers = new ArrayList<>(users);
-        Collections.sort(sortedUsers); 
-        
-        for (String user : sortedUsers) {
-            userToIndex.put(user, idx);
-            indexToUser.put(idx, user);
-            idx++;
+        if (chosen == Representation.COMPACT) {
+            return new GraphData(new CompressedSparseRowGraph(n, parsed.sources, parsed.targets, parsed.weights, m), dictionary);
+        }
+        if (chosen == Representation.COMPRESSED) {
+            // Codificado direto das arestas lidas: escolhido justamente quando o CSR não cabe, então não passa por ele
+            CompressedAdjacencyGraph compressed = new CompressedAdjacencyGraph(n, parsed.sources, parsed.targets, parsed.weights, m);
+            System.out.println("[GraphLoader] Adjacência comprimida: " + formatBytes(compressed.getCompressedSizeInBytes())
+                    + String.format(Locale.ROOT, " (%.1f bits/aresta)", compressed.getBitsPerEdge()));
+            return new GraphData(compressed, dictionary);
         }
 
         AbstractGraph graph;
-        if (useMatrix) {
-            graph = new AdjacencyMatrixGraph(users.size());
+        if (chosen == Representation.MATRIX) {
+            graph = new AdjacencyMatrixGraph(n);
         } else {
-            graph = new AdjacencyListGraph(users.size());
+            graph = new AdjacencyListGraph(n);
+        }
+
+        // As arestas já chegam sem repetição, então cada uma é gravada uma única vez
+        for (int i = 0; i < m; i++) {
+            graph.setEdgeWeight(parsed.sources[i], parsed.targets[i], parsed.weights[i]);
+        }
+
+        return new GraphData(graph, dictionary);
+    }
+
+    /**
+     * Reindexa os vértices segundo a estratégia de localidade escolhida, reconstruindo o grafo (CSR)
+     * e o dicionário de logins sob a mesma permutação.
+     */
+    public static GraphData reorder(GraphData data, VertexOrdering.Strategy strategy) {
+        int[] perm = VertexOrdering.compute(data.graph, strategy);
+        AbstractGraph graph = VertexOrdering.relabel(data.graph, perm);
+
+        GraphData result = new GraphData(graph, permuteDictionary(data.dictionary, perm));
+        if (data.edgeAttributes != null) {
+            int[] order = edgeOrderAfterRelabel(data.graph, perm);
+            if (data.graph instanceof FilteredGraph) {
+                // numa visão, a i-ésima aresta na ordem (origem, destino) tem o id kept[i] no grafo base
+                int[] kept = ((FilteredGraph) data.graph).keptEdgeIds();
+                for (int i = 0; i < order.length; i++) order[i] = kept[order[i]];
+            }
+            result.edgeAttributes = data.edgeAttributes.permute(order);
+        }
+        return result;
+    }
+
+    private static VertexDictionary permuteDictionary(VertexDictionary dictionary, int[] perm) {
+        if (dictionary instanceof FrontCodedDictionary) {
+            return ((FrontCodedDictionary) dictionary).withPermutation(perm);
+        }
+        String[] logins = new String[perm.length];
+        for (int v = 0; v < perm.length; v++) logins[perm[v]] = dictionary.loginOf(v);
+        return FrontCodedDictionary.build(logins);
+    }
+
+    /**
+     * Posição antiga (na ordem (origem, destino)) de cada aresta na nova ordem induzida pela permutação.
+     */
+    private static int[] edgeOrderAfterRelabel(AbstractGraph graph, int[] perm) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        long[] oldKeys = new long[m];
+        int[] count = new int[1];
+        for (int u = 0; u < n; u++) {
+            long row = (long) u * n;
+            graph.forEachSuccessor(u, (v, w) -> oldKeys[count[0]++] = row + v);
         }
+        Arrays.sort(oldKeys);
+
+        int[] newSources = new int[m];
+        int[] newTargets = new int[m];
+        int[] order = new int[m];
+        for (int i = 0; i < m; i++) {
+            newSources[i] = perm[(int) (oldKeys[i] / n)];
+            newTargets[i] = perm[(int) (oldKeys[i] % n)];
+            order[i] = i;
+        }
+        order = CsvEdgeParser.countingSort(newTargets, order, n);
+        order = CsvEdgeParser.countingSort(newSources, order, n);
+        return order;
+    }
+
+    /**
+     * Estimativa (em bytes) da memória ocupada pela adjacência de cada representação.
+     */
+    public static long estimateFootprint(Representation representation, int n, long m) {
+        switch (representation) {
+            case MATRIX:
+                // bitset n² + tabela de pesos (chave long + valor double, carga ~0.5) + contadores de grau
+                return ((long) n * n + 7) / 8 + m * 32 + 8L * n;
+            case HASH_LIST:
+                // 2 HashMaps por vértice; cada aresta vira 2 nós com Integer + Double empacotados
+                return n * 2L * 96 + m * 2 * 72;
+            case COMPACT:
+                // offsets de saída/entrada + alvo (int) e peso (double) nas duas direções
+                return 8L * (n + 1) + m * 24;
+            case COMPRESSED:
+                // offsets (long) e graus nas duas direções + índice de salto + ~2 bytes de gap e ~1 de peso
+                // por aresta em cada direção
+                return 28L * n + m * 6;
+            default:
+                throw new IllegalArgumentException("Representação sem estimativa: " + representation);
+        }
+    }
+
+    static Representation chooseRepresentation(Representation requested, int n, long m, long heapAvailable) {
+        long budget = (long) (heapAvailable * HEAP_BUDGET_FRACTION);
+        long matrix = estimateFootprint(Representation.MATRIX, n, m);
+        long hashList = estimateFootprint(Representation.HASH_LIST, n, m);
+        long compact = estimateFootprint(Representation.COMPACT, n, m);
+        long compressed = estimateFootprint(Representation.COMPRESSED, n, m);
+
+        System.out.println("[GraphLoader] Estimativa de memória (" + n + " vértices, " + m + " arestas, heap livre "
+                + formatBytes(heapAvailable) + "): matriz=" + formatBytes(matrix)
+                + ", listas=" + formatBytes(hashList) + ", compacto=" + formatBytes(compact)
+                + ", comprimido=" + formatBytes(compressed));
 
-        for (EdgeTemp e : tempEdges) {
-            int uIndex = userToIndex.get(e.src);
-            int vIndex = userToIndex.get(e.target);
-            graph.addEdge(uIndex, vIndex); 
-            graph.setEdgeWeight(uIndex, vIndex, e.weight);
+        Representation chosen = requested;
+        if (requested == Representation.AUTO) {
+            // Matriz só quando o grafo é denso o bastante para ela ocupar menos que o CSR;
+            // a forma comprimida entra quando nem o CSR cabe no orçamento de heap
+            if (matrix < compact && matrix <= budget) chosen = Representation.MATRIX;
+            else if (compact <= budget) chosen = Representation.COMPACT;
+            else chosen = Representation.COMPRESSED;
+        } else if (requested == Representation.MATRIX && matrix > budget) {
+            // Evita o OOM da alocação O(n²): cai para a outra estrutura mutável
+            System.out.println("[GraphLoader] Aviso: matriz exigiria " + formatBytes(matrix)
+                    + ", acima do orçamento de heap; usando listas de adjacência.");
+            chosen = Representation.HASH_LIST;
         }
 
-        return new GraphData(graph, userToIndex, indexToUser);
+        System.out.println("[GraphLoader] Representação escolhida: " + chosen);
+        return chosen;
+    }
+
+    private static long availableHeap() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.maxMemory() - (rt.totalMemory() - rt.freeMemory());
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024L * 1024) return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        if (bytes < 1024L * 1024 * 1024) return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+        return String.format(Locale.ROOT, "%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+
+    private static ParsedEdges readBinaryEdges(String binPath) throws IOException {
+        Path path = Path.of(binPath);
+        if (!Files.exists(path)) throw new IOException("Arquivo não encontrado: " + binPath);
+
+        long start = System.nanoTime();
+        ParsedEdges parsed = BinaryEdgeReader.read(path);
+        System.out.println(String.format(Locale.ROOT, "[GraphLoader] Lista binária lida em %.1f ms (%d logins, %d arestas, %d tags)",
+                (System.nanoTime() - start) / 1e6, parsed.logins.length, parsed.edgeCount, parsed.attributes.getTagTypeCount()));
+        return parsed;
+    }
+
+    private static ParsedEdges readGexf(String gexfPath, DuplicatePolicy duplicates) throws IOException {
+        Path path = Path.of(gexfPath);
+        if (!Files.exists(path)) throw new IOException("Arquivo não encontrado: " + gexfPath);
+
+        long start = System.nanoTime();
+        ParsedEdges parsed = GexfReader.read(path, duplicates);
+        System.out.println(String.format(Locale.ROOT, "[GraphLoader] GEXF lido em %.1f ms (%d nós, %d arestas)",
+                (System.nanoTime() - start) / 1e6, parsed.logins.length, parsed.edgeCount));
+        return parsed;
+    }
+
+    private static ParsedEdges readEdges(String csvPath, DuplicatePolicy duplicates) throws IOException {
+        Path path = Path.of(csvPath);
+        if (!Files.exists(path)) throw new IOException("Arquivo não encontrado: " + csvPath);
+
+        long start = System.nanoTime();
+        ParsedEdges parsed = CsvEdgeParser.parse(path, duplicates);
+        System.out.println(String.format(Locale.ROOT, "[GraphLoader] CSV lido em %.1f ms (%d logins, %d arestas)",
+                (System.nanoTime() - start) / 1e6, parsed.logins.length, parsed.edgeCount));
+        return parsed;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,387 @@
+package io;
+
+import estrutura.AbstractGraph;
+import estrutura.CompressedSparseRowGraph;
+import estrutura.FilteredGraph;
+import estrutura.MappedCsrGraph;
+import estrutura.PagedCsrGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Snapshot binário de um grafo carregado, para evitar reprocessar o CSV a cada execução.
+ *
+ * Layout (little-endian, seções alinhadas em 8 bytes):
+ *   cabeçalho: magic, versão, nº de vértices, nº de arestas e a posição de cada seção;
+ *   DICT: offsets (int[n + 1]) seguidos dos logins em UTF-8;
+ *   OUT_OFFSETS int[n + 1], OUT_TARGETS int[m], OUT_WEIGHTS double[m];
+ *   IN_OFFSETS int[n + 1], IN_SOURCES int[m], IN_WEIGHTS double[m];
+ *   VERTEX_WEIGHTS double[n];
+ *   opcionais, com posição 0 quando o grafo não tem {@link EdgeAttributes}: EDGE_COUNTS int[m],
+ *   TAG_NAMES (int T, offsets int[T + 1] e os nomes em UTF-8) e TAG_COLUMNS int[T * m], coluna a coluna.
+ *   A aresta i das colunas é a i-ésima da adjacência de saída, como no grafo CSR.
+ *
+ * A leitura mapeia cada seção com {@link FileChannel#map} e entrega um {@link MappedCsrGraph},
+ * de modo que a adjacência fica fora do heap e é compartilhada via page cache entre processos;
+ * {@link #openPaged} lê as mesmas seções em páginas com cache limitado ({@link PagedCsrGraph}) e não carrega
+ * os atributos de aresta, que ocupariam O(m) no heap.
+ */
+public class GraphSnapshot {
+    private static final int MAGIC = 0x54475246; // "TGRF"
+    private static final int VERSION = 2;
+
+    private static final int DICT = 0;
+    private static final int OUT_OFFSETS = 1;
+    private static final int OUT_TARGETS = 2;
+    private static final int OUT_WEIGHTS = 3;
+    private static final int IN_OFFSETS = 4;
+    private static final int IN_SOURCES = 5;
+    private static final int IN_WEIGHTS = 6;
+    private static final int VERTEX_WEIGHTS = 7;
+    private static final int EDGE_COUNTS = 8;
+    private static final int TAG_NAMES = 9;
+    private static final int TAG_COLUMNS = 10;
+    private static final int SECTION_COUNT = 11;
+
+    private static final int HEADER_SIZE = 16 + 8 * SECTION_COUNT;
+
+    /**
+     * Grava o grafo, o dicionário de logins e, se houver, os atributos de aresta no caminho informado. O arquivo é escrito ao lado, com sufixo
+     * ".tmp", e só então movido para o destino: uma falha no meio não deixa um snapshot truncado com data
+     * recente (que seria aceito na próxima execução).
+     */
+    public static void write(GraphLoader.GraphData data, Path file) throws IOException {
+        AbstractGraph graph = data.graph;
+        // As linhas precisam estar ordenadas para a busca binária do grafo mapeado
+        if (!(graph instanceof CompressedSparseRowGraph) && !(graph instanceof MappedCsrGraph)) {
+            graph = new CompressedSparseRowGraph(graph);
+        }
+        EdgeAttributes attributes = data.edgeAttributes;
+        if (attributes != null && data.graph instanceof FilteredGraph) {
+            // Na visão, os ids das colunas são os do grafo base: a i-ésima aresta mantida tem o id kept[i]
+            attributes = attributes.permute(((FilteredGraph) data.graph).keptEdgeIds());
+        }
+        if (attributes != null && attributes.getEdgeCount() != graph.getEdgeCount()) {
+            throw new IllegalArgumentException("Atributos com " + attributes.getEdgeCount() + " arestas para um grafo com "
+                    + graph.getEdgeCount() + ".");
+        }
+        int n = graph.getVertexCount();
+
+        byte[][] names = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            names[i] = data.dictionary.loginOf(i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            writeSections(graph, names, attributes, tmp);
+            moveIntoPlace(tmp, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    private static void moveIntoPlace(Path tmp, Path file) throws IOException {
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeSections(AbstractGraph graph, byte[][] names, EdgeAttributes attributes, Path file)
+            throws IOException {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter out = new SectionWriter(channel);
+            long[] positions = new long[SECTION_COUNT];
+            out.skip(HEADER_SIZE);
+
+            positions[DICT] = out.align();
+            int offset = 0;
+            out.putInt(0);
+            for (byte[] name : names) {
+                offset += name.length;
+                out.putInt(offset);
+            }
+            for (byte[] name : names) out.putBytes(name);
+
+            final AbstractGraph g = graph;
+            positions[OUT_OFFSETS] = out.align();
+            writeOffsets(out, n, v -> g.getVertexOutDegree(v));
+            positions[OUT_TARGETS] = out.align();
+            for (int u = 0; u < n; u++) g.forEachSuccessor(u, (v, w) -> out.putInt(v));
+            positions[OUT_WEIGHTS] = out.align();
+            for (int u = 0; u < n; u++) g.forEachSuccessor(u, (v, w) -> out.putDouble(w));
+
+            positions[IN_OFFSETS] = out.align();
+            writeOffsets(out, n, v -> g.getVertexInDegree(v));
+            positions[IN_SOURCES] = out.align();
+            for (int v = 0; v < n; v++) g.forEachPredecessor(v, (u, w) -> out.putInt(u));
+            positions[IN_WEIGHTS] = out.align();
+            for (int v = 0; v < n; v++) g.forEachPredecessor(v, (u, w) -> out.putDouble(w));
+
+            positions[VERTEX_WEIGHTS] = out.align();
+            for (int v = 0; v < n; v++) out.putDouble(g.getVertexWeight(v));
+
+            if (attributes != null) {
+                positions[EDGE_COUNTS] = out.align();
+                for (int e = 0; e < m; e++) out.putInt(attributes.getCount(e));
+
+                int tags = attributes.getTagTypeCount();
+                byte[][] tagNames = new byte[tags][];
+                for (int t = 0; t < tags; t++) tagNames[t] = attributes.getTagName(t).getBytes(StandardCharsets.UTF_8);
+                positions[TAG_NAMES] = out.align();
+                out.putInt(tags);
+                offset = 0;
+                out.putInt(0);
+                for (byte[] name : tagNames) {
+                    offset += name.length;
+                    out.putInt(offset);
+                }
+                for (byte[] name : tagNames) out.putBytes(name);
+
+                positions[TAG_COLUMNS] = out.align();
+                for (int t = 0; t < tags; t++) {
+                    for (int e = 0; e < m; e++) out.putInt(attributes.getTagCount(e, t));
+                }
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(m);
+            for (long p : positions) header.putLong(p);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header, header.position());
+            channel.force(false);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeOffsets(SectionWriter out, int n, IntUnaryOperator degree) {
+        int offset = 0;
+        out.putInt(0);
+        for (int v = 0; v < n; v++) {
+            offset += degree.applyAsInt(v);
+            out.putInt(offset);
+        }
+    }
+
+    /**
+     * Mapeia o snapshot e devolve o grafo (adjacência fora do heap) junto com o dicionário de logins.
+     */
+    public static GraphLoader.GraphData load(Path file) throws IOException {
+        if (!Files.exists(file)) throw new IOException("Arquivo não encontrado: " + file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header h = readHeader(channel, file);
+            int n = h.n;
+            int m = h.m;
+            FrontCodedDictionary dictionary = readDictionary(channel, h);
+
+            MappedCsrGraph graph = new MappedCsrGraph(n, m,
+                    map(channel, h.positions[OUT_OFFSETS], 4L * (n + 1)).asIntBuffer(),
+                    map(channel, h.positions[OUT_TARGETS], 4L * m).asIntBuffer(),
+                    map(channel, h.positions[OUT_WEIGHTS], 8L * m).asDoubleBuffer(),
+                    map(channel, h.positions[IN_OFFSETS], 4L * (n + 1)).asIntBuffer(),
+                    map(channel, h.positions[IN_SOURCES], 4L * m).asIntBuffer(),
+                    map(channel, h.positions[IN_WEIGHTS], 8L * m).asDoubleBuffer());
+            readVertexWeights(channel, h, graph);
+
+            GraphLoader.GraphData data = new GraphLoader.GraphData(graph, dictionary);
+            data.edgeAttributes = readAttributes(channel, h);
+            return data;
+        }
+    }
+
+    /**
+     * Abre o snapshot sem mapeá-lo: offsets, graus e dicionário ficam no heap e as arestas são lidas
+     * sob demanda em páginas, num cache LRU de até cacheBytes. Serve para grafos maiores que a memória
+     * disponível (e para seções acima do limite de 2 GB do mapeamento). O grafo mantém o arquivo aberto.
+     */
+    public static GraphLoader.GraphData openPaged(Path file, long cacheBytes) throws IOException {
+        if (!Files.exists(file)) throw new IOException("Arquivo não encontrado: " + file);
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            Header h = readHeader(channel, file);
+            FrontCodedDictionary dictionary = readDictionary(channel, h);
+            long lastByte = Math.max(h.positions[OUT_WEIGHTS], h.positions[IN_WEIGHTS]) + 8L * h.m;
+            if (lastByte > channel.size()) throw new IOException("Snapshot truncado: " + file);
+
+            PagedCsrGraph graph = new PagedCsrGraph(h.n, h.m, channel,
+                    readInts(channel, h.positions[OUT_OFFSETS], h.n + 1),
+                    h.positions[OUT_TARGETS], h.positions[OUT_WEIGHTS],
+                    readInts(channel, h.positions[IN_OFFSETS], h.n + 1),
+                    h.positions[IN_SOURCES], h.positions[IN_WEIGHTS],
+                    cacheBytes);
+            readVertexWeights(channel, h, graph);
+            return new GraphLoader.GraphData(graph, dictionary);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static class Header {
+        int n;
+        int m;
+        final long[] positions = new long[SECTION_COUNT];
+    }
+
+    private static Header readHeader(FileChannel channel, Path file) throws IOException {
+        if (channel.size() < HEADER_SIZE) throw new IOException("Snapshot truncado: " + file);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) { }
+        header.flip();
+        if (header.getInt() != MAGIC) throw new IOException("Arquivo não é um snapshot de grafo: " + file);
+        int version = header.getInt();
+        if (version != VERSION) throw new IOException("Versão de snapshot não suportada: " + version);
+        Header h = new Header();
+        h.n = header.getInt();
+        h.m = header.getInt();
+        for (int i = 0; i < SECTION_COUNT; i++) h.positions[i] = header.getLong();
+        return h;
+    }
+
+    private static FrontCodedDictionary readDictionary(FileChannel channel, Header h) throws IOException {
+        int n = h.n;
+        IntBuffer dictOffsets = map(channel, h.positions[DICT], 4L * (n + 1)).asIntBuffer();
+        ByteBuffer dictBytes = map(channel, h.positions[DICT] + 4L * (n + 1), dictOffsets.get(n));
+        String[] logins = new String[n];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < n; i++) {
+            int from = dictOffsets.get(i);
+            int len = dictOffsets.get(i + 1) - from;
+            if (len > scratch.length) scratch = new byte[len];
+            dictBytes.position(from);
+            dictBytes.get(scratch, 0, len);
+            logins[i] = new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+        return FrontCodedDictionary.build(logins);
+    }
+
+    /** Colunas count/tags copiadas para o heap, ou null se o snapshot não as tem. */
+    private static EdgeAttributes readAttributes(FileChannel channel, Header h) throws IOException {
+        if (h.positions[EDGE_COUNTS] == 0) return null;
+        int m = h.m;
+        int[] counts = readInts(channel, h.positions[EDGE_COUNTS], m);
+
+        long namesPos = h.positions[TAG_NAMES];
+        int tags = map(channel, namesPos, 4).getInt(0);
+        IntBuffer nameOffsets = map(channel, namesPos + 4, 4L * (tags + 1)).asIntBuffer();
+        ByteBuffer nameBytes = map(channel, namesPos + 4 + 4L * (tags + 1), nameOffsets.get(tags));
+        String[] tagNames = new String[tags];
+        for (int t = 0; t < tags; t++) {
+            byte[] name = new byte[nameOffsets.get(t + 1) - nameOffsets.get(t)];
+            nameBytes.position(nameOffsets.get(t));
+            nameBytes.get(name);
+            tagNames[t] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        int[][] columns = new int[tags][];
+        for (int t = 0; t < tags; t++) columns[t] = readInts(channel, h.positions[TAG_COLUMNS] + 4L * t * m, m);
+        return new EdgeAttributes(counts, tagNames, columns);
+    }
+
+    private static void readVertexWeights(FileChannel channel, Header h, AbstractGraph graph) throws IOException {
+        DoubleBuffer vertexWeights = map(channel, h.positions[VERTEX_WEIGHTS], 8L * h.n).asDoubleBuffer();
+        for (int v = 0; v < h.n; v++) {
+            double w = vertexWeights.get(v);
+            if (w != 1.0) graph.setVertexWeight(v, w);
+        }
+    }
+
+    private static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+        int[] values = new int[count];
+        map(channel, position, 4L * count).asIntBuffer().get(values);
+        return values;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Seção do snapshot excede 2 GB e não pode ser mapeada: " + size + " bytes");
+        }
+        if (position + size > channel.size()) {
+            throw new IOException("Snapshot truncado na posição " + position);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /** Escrita sequencial bufferizada direto no canal, com alinhamento de seções. */
+    private static class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        SectionWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void skip(int bytes) {
+            for (int i = 0; i < bytes; i++) putByte((byte) 0);
+        }
+
+        long align() {
+            while ((position & 7) != 0) putByte((byte) 0);
+            return position;
+        }
+
+        void putByte(byte b) {
+            ensure(1);
+            buffer.put(b);
+            position++;
+        }
+
+        void putInt(int v) {
+            ensure(4);
+            buffer.putInt(v);
+            position += 4;
+        }
+
+        void putDouble(double v) {
+            ensure(8);
+            buffer.putDouble(v);
+            position += 8;
+        }
+
+        void putBytes(byte[] bytes) {
+            for (byte b : bytes) putByte(b);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
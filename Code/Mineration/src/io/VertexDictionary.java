@@ -0,0 +1,16 @@
+package io;
+
+/**
+ * Tradução entre login e índice de vértice.
+ */
+public interface VertexDictionary {
+
+    /** Nº de logins (= nº de vértices do grafo). */
+    int size();
+
+    /** Login do vértice v. */
+    String loginOf(int vertex);
+
+    /** Índice do vértice com o login informado, ou -1 se ele não existir. */
+    int indexOf(String login);
+}
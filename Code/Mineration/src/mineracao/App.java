@@ -15,6 +15,7 @@ public class App {
         //  - Argumento 1 (opcional): owner/repo (ex.: torvalds/linux)
         //  - Argumento 2 (opcional): diretório de saída (padrão: ./data)
         //  - OWNER / REPO / OUT_DIR podem vir do .env
+        //  - COMPRESS_OUTPUT=true (.env) grava os JSONs consolidados em gzip
         //  - Fallback final: tentar inferir de .git/config (remote origin)
 
         String owner = "spring-projects"; // defaults caso nada seja fornecido
@@ -58,6 +59,10 @@ public class App {
             System.out.println("[App] Atenção: sem token GitHub; limite de rate será baixo (60/h)." );
         }
         Mineracao miner = new Mineracao(token);
+        if ("true".equalsIgnoreCase(env.compressOutput)) {
+            System.out.println("[App] COMPRESS_OUTPUT do .env: JSONs consolidados serão gravados em gzip");
+            miner.setCompressOutput(true);
+        }
         miner.mineRepository(new Mineracao.RepoId(owner, name), out);
     }
 
@@ -92,7 +97,7 @@ public class App {
         return null;
     }
 
-    private static class EnvVars { String owner; String repo; String outDir; }
+    private static class EnvVars { String owner; String repo; String outDir; String compressOutput; }
     private static EnvVars readEnvVars() {
         EnvVars vars = new EnvVars();
         for (Path p : candidateEnvPaths()) {
@@ -114,6 +119,7 @@ public class App {
                         case "REPO":
                         case "REPO_NAME": vars.repo = value; break;
                         case "OUT_DIR": vars.outDir = value; break;
+                        case "COMPRESS_OUTPUT": vars.compressOutput = value; break;
                     }
                 }
             } catch (IOException ignored) {}
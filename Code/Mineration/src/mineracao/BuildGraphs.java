@@ -58,21 +58,25 @@ public class BuildGraphs {
         System.out.println("[BuildGraphs] 1/4 - Construindo Grafo 1 (Comentários)...");
         GraphModel g1 = builder.buildGraph1_Comments(maps);
         g1.exportEdgesCsv(outDir.resolve("graph1_comments.csv"));
+        g1.exportEdgesBinary(outDir.resolve("graph1_comments.bin"));
         System.out.println("[BuildGraphs] ✓ Grafo 1 salvo: " + g1.getNodes().size() + " nós, " + g1.getEdges().size() + " arestas");
         
         System.out.println("[BuildGraphs] 2/4 - Construindo Grafo 2 (Fechamentos de Issues)...");
         GraphModel g2 = builder.buildGraph2_IssueClosures(maps);
         g2.exportEdgesCsv(outDir.resolve("graph2_issue_closures.csv"));
+        g2.exportEdgesBinary(outDir.resolve("graph2_issue_closures.bin"));
         System.out.println("[BuildGraphs] ✓ Grafo 2 salvo: " + g2.getNodes().size() + " nós, " + g2.getEdges().size() + " arestas");
         
         System.out.println("[BuildGraphs] 3/4 - Construindo Grafo 3 (Interações em PRs)...");
         GraphModel g3 = builder.buildGraph3_PRInteractions(maps);
         g3.exportEdgesCsv(outDir.resolve("graph3_pr_interactions.csv"));
+        g3.exportEdgesBinary(outDir.resolve("graph3_pr_interactions.bin"));
         System.out.println("[BuildGraphs] ✓ Grafo 3 salvo: " + g3.getNodes().size() + " nós, " + g3.getEdges().size() + " arestas");
         
         System.out.println("[BuildGraphs] 4/4 - Construindo Grafo Integrado...");
         GraphModel gi = builder.buildIntegrated(maps);
         gi.exportEdgesCsv(outDir.resolve("graph_integrated.csv"));
+        gi.exportEdgesBinary(outDir.resolve("graph_integrated.bin"));
         System.out.println("[BuildGraphs] ✓ Grafo Integrado salvo: " + gi.getNodes().size() + " nós, " + gi.getEdges().size() + " arestas");
 
         System.out.println("[BuildGraphs] ✅ CONCLUÍDO! Grafos gerados em: " + outDir.toAbsolutePath());
@@ -1,7 +1,6 @@
 package mineracao;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -77,7 +76,7 @@ public class GraphBuilder {
 		GraphModel g = new GraphModel();
 		
 		// Ler do arquivo processado
-		Path closuresPath = repoDir.resolve("issue-events.json");
+		Path closuresPath = GzipFiles.resolve(repoDir.resolve("issue-events.json"));
 		if (!Files.isRegularFile(closuresPath)) {
 			System.out.println("Aviso: arquivo " + closuresPath + " não encontrado. Graph 2 vazio.");
 			return g;
@@ -85,7 +84,7 @@ public class GraphBuilder {
 
 		String eventsJson;
 		try {
-			eventsJson = Files.readString(closuresPath, StandardCharsets.UTF_8);
+			eventsJson = GzipFiles.readString(closuresPath);
 		} catch (IOException e) {
 			throw new UncheckedIOException(e);
 		}
@@ -148,7 +147,7 @@ public class GraphBuilder {
 				}
 			} else {
 				// Streaming parse do arquivo gigante pull-details.json (NOVO FORMATO: pr_details + reviews)
-				Path pullDetailsPath = repoDir.resolve("pull-details.json");
+				Path pullDetailsPath = GzipFiles.resolve(repoDir.resolve("pull-details.json"));
 				if (Files.exists(pullDetailsPath)) {
 					hadPRData = true;
 					int[] reviewEdges = {0};
@@ -289,10 +288,12 @@ public class GraphBuilder {
 
 	// ----------------------- Parsing helpers -----------------------
 
+	// Aceita também a variante comprimida ("<arquivo>.gz") do JSON
 	private static String readIfExists(Path p) {
 		try {
+			p = GzipFiles.resolve(p);
 			if (p == null || !Files.exists(p)) return null;
-			return Files.readString(p, StandardCharsets.UTF_8);
+			return GzipFiles.readString(p);
 		} catch (IOException e) {
 			throw new UncheckedIOException(e);
 		}
@@ -491,8 +492,8 @@ public class GraphBuilder {
 	}
 
 	private void streamTopLevelObjects(Path path, java.util.function.Consumer<String> consumer) {
-		try (java.io.BufferedReader reader = new java.io.BufferedReader(
-				Files.newBufferedReader(path, StandardCharsets.UTF_8), 128*1024)) {
+		// .gz é descomprimido em fluxo, sem passar pelo disco
+		try (java.io.BufferedReader reader = GzipFiles.newReader(path, 128*1024)) {
 			StringBuilder buffer = new StringBuilder(8192);
 			boolean inObject = false;
 			boolean inString = false;
@@ -1,4 +1,6 @@
 package mineracao;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
@@ -89,6 +91,69 @@ public class GraphModel {
 		}
 	}
 
+	/** Identificação do formato binário de arestas ("TGBE") e sua versão. */
+	public static final int BINARY_MAGIC = 0x54474245;
+	public static final int BINARY_VERSION = 1;
+
+	/**
+	 * Exporta as arestas em formato binário (big-endian), para o carregador não precisar reinterpretar texto:
+	 *   magic, versão;
+	 *   logins: quantidade e cada login (tamanho + bytes UTF-8), em ordem alfabética (o índice é o id do vértice);
+	 *   tags: quantidade e cada nome (tamanho + bytes UTF-8);
+	 *   arestas ordenadas por (origem, destino): origem, destino, peso (double), count,
+	 *   nº de tags e os pares (id da tag, contagem).
+	 */
+	public void exportEdgesBinary(Path outFile) {
+		List<String> logins = new ArrayList<>(nodes);
+		Collections.sort(logins);
+		Map<String, Integer> loginIndex = new HashMap<>();
+		for (int i = 0; i < logins.size(); i++) loginIndex.put(logins.get(i), i);
+
+		List<String> tags = new ArrayList<>();
+		Map<String, Integer> tagIndex = new HashMap<>();
+		for (Edge e : edges.values()) {
+			for (String tag : e.tagCounts.keySet()) {
+				if (tagIndex.putIfAbsent(tag, tags.size()) == null) tags.add(tag);
+			}
+		}
+
+		List<Edge> sorted = new ArrayList<>(edges.values());
+		sorted.sort(Comparator.<Edge>comparingInt(e -> loginIndex.get(e.from)).thenComparingInt(e -> loginIndex.get(e.to)));
+
+		try {
+			Files.createDirectories(outFile.getParent());
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(outFile), 1 << 20))) {
+				out.writeInt(BINARY_MAGIC);
+				out.writeInt(BINARY_VERSION);
+				writeStrings(out, logins);
+				writeStrings(out, tags);
+				out.writeInt(sorted.size());
+				for (Edge e : sorted) {
+					out.writeInt(loginIndex.get(e.from));
+					out.writeInt(loginIndex.get(e.to));
+					out.writeDouble(e.weight);
+					out.writeInt(e.count);
+					out.writeInt(e.tagCounts.size());
+					for (Map.Entry<String, Integer> en : e.tagCounts.entrySet()) {
+						out.writeInt(tagIndex.get(en.getKey()));
+						out.writeInt(en.getValue());
+					}
+				}
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String v : values) {
+			byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
 	private static String encodeTags(Map<String,Integer> tagCounts) {
 		if (tagCounts.isEmpty()) return "";
 		StringBuilder sb = new StringBuilder();
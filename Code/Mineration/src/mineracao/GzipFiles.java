@@ -0,0 +1,80 @@
+package mineracao;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Acesso transparente aos JSONs minerados comprimidos em gzip.
+ * Um arquivo "x.json" pode estar em disco como "x.json" ou "x.json.gz"; a leitura descomprime em fluxo,
+ * sem nunca materializar o arquivo descomprimido em disco.
+ */
+public final class GzipFiles {
+	private static final String SUFFIX = ".gz";
+	private static final int BUFFER = 64 * 1024;
+
+	private GzipFiles() {}
+
+	/** O próprio caminho se existir; senão a variante ".gz", se existir; senão o caminho original. */
+	public static Path resolve(Path plain) {
+		if (plain == null || Files.exists(plain)) return plain;
+		Path gz = withGzSuffix(plain);
+		return Files.exists(gz) ? gz : plain;
+	}
+
+	public static boolean isGzip(Path p) {
+		return p.getFileName().toString().endsWith(SUFFIX);
+	}
+
+	public static Path withGzSuffix(Path p) {
+		return isGzip(p) ? p : p.resolveSibling(p.getFileName() + SUFFIX);
+	}
+
+	public static InputStream newInputStream(Path p) throws IOException {
+		InputStream in = Files.newInputStream(p);
+		return isGzip(p) ? new GZIPInputStream(in, BUFFER) : in;
+	}
+
+	public static BufferedReader newReader(Path p, int bufferSize) throws IOException {
+		return new BufferedReader(new InputStreamReader(newInputStream(p), StandardCharsets.UTF_8), bufferSize);
+	}
+
+	public static String readString(Path p) throws IOException {
+		if (!isGzip(p)) return Files.readString(p, StandardCharsets.UTF_8);
+		try (InputStream in = newInputStream(p)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	/** Escritor UTF-8 que comprime em gzip quando o caminho termina em ".gz". */
+	public static BufferedWriter newWriter(Path p, OpenOption... options) throws IOException {
+		OutputStream out = Files.newOutputStream(p, options);
+		if (isGzip(p)) out = new GZIPOutputStream(out, BUFFER);
+		return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER);
+	}
+
+	/**
+	 * Comprime um arquivo já completo em "&lt;arquivo&gt;.gz" e remove o original.
+	 * @return o caminho do arquivo comprimido
+	 */
+	public static Path compress(Path plain) throws IOException {
+		Path gz = withGzSuffix(plain);
+		Path tmp = gz.resolveSibling(gz.getFileName() + ".tmp");
+		try (InputStream in = Files.newInputStream(plain);
+			 OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), BUFFER)) {
+			in.transferTo(out);
+		}
+		Files.move(tmp, gz, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+		Files.delete(plain);
+		return gz;
+	}
+}
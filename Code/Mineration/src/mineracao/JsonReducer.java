@@ -8,6 +8,8 @@ import java.util.*;
 /**
  * JsonReducer: Reduz arquivos JSON grandes mantendo representatividade dos dados
  * para evitar problemas com GitHub file size limits.
+ * Aceita também os JSONs comprimidos ("arquivo.json.gz"): o limite vale para o tamanho em disco,
+ * então a amostra é dimensionada pela taxa de compressão observada e gravada de novo em gzip.
  */
 public class JsonReducer {
     private static final long MAX_SIZE_MB = 100;
@@ -25,14 +27,14 @@ public class JsonReducer {
         };
         
         for (String fileName : files) {
-            Path filePath = dataDir.resolve(fileName);
+            Path filePath = GzipFiles.resolve(dataDir.resolve(fileName));
             if (!Files.exists(filePath)) {
                 System.out.println("Arquivo não encontrado: " + fileName);
                 continue;
             }
             
             long currentSize = Files.size(filePath);
-            System.out.printf("\n=== Processando %s ===\n", fileName);
+            System.out.printf("\n=== Processando %s ===\n", filePath.getFileName());
             System.out.printf("Tamanho atual: %.2f MB\n", currentSize / 1024.0 / 1024.0);
             
             if (currentSize <= MAX_SIZE_BYTES) {
@@ -41,7 +43,7 @@ public class JsonReducer {
             }
             
             // Criar backup
-            Path backupPath = dataDir.resolve(fileName + ".backup");
+            Path backupPath = filePath.resolveSibling(filePath.getFileName() + ".backup");
             if (!Files.exists(backupPath)) {
                 Files.copy(filePath, backupPath);
                 System.out.println("Backup criado: " + backupPath.getFileName());
@@ -66,13 +68,15 @@ public class JsonReducer {
         int braceCount = 0;
         boolean inString = false;
         char prevChar = 0;
+        long totalChars = 0;
         
-        try (BufferedReader reader = Files.newBufferedReader(inputFile, StandardCharsets.UTF_8)) {
+        try (BufferedReader reader = GzipFiles.newReader(inputFile, 64 * 1024)) {
             int ch;
             boolean foundStart = false;
             
             while ((ch = reader.read()) != -1) {
                 char c = (char) ch;
+                totalChars++;
                 
                 // Detectar início do array
                 if (!foundStart && c == '[') {
@@ -123,9 +127,17 @@ public class JsonReducer {
         
         // Calcular quantos objetos manter para ficar sob o limite
         long avgObjectSize = calculateAverageSize(jsonObjects);
-        long maxObjects = (maxSizeBytes - 100) / avgObjectSize; // margem de segurança
+        // Em gzip o limite é sobre o tamanho comprimido: converte pelo fator de compressão observado,
+        // com folga de 10% porque uma amostra esparsa comprime um pouco pior que o arquivo inteiro
+        double compression = GzipFiles.isGzip(inputFile)
+            ? Math.min(1.0, 1.1 * Files.size(inputFile) / Math.max(1, totalChars))
+            : 1.0;
+        long maxObjects = (long) ((maxSizeBytes - 100) / compression) / avgObjectSize; // margem de segurança
         
         System.out.printf("Tamanho médio por objeto: %d bytes\n", avgObjectSize);
+        if (compression < 1.0) {
+            System.out.printf("Taxa de compressão: %.1f%%\n", compression * 100);
+        }
         System.out.printf("Objetos a manter: %d (%.1f%% do total)\n", 
             maxObjects, (maxObjects * 100.0 / jsonObjects.size()));
         
@@ -139,7 +151,7 @@ public class JsonReducer {
         
         // Escrever arquivo reduzido
         Path reducedFile = inputFile;
-        try (BufferedWriter writer = Files.newBufferedWriter(reducedFile, StandardCharsets.UTF_8,
+        try (BufferedWriter writer = GzipFiles.newWriter(reducedFile,
                 StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
             
             writer.write('[');
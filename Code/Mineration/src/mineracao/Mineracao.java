@@ -1,4 +1,5 @@
 package mineracao;
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.net.URI;
@@ -29,6 +30,7 @@ import java.util.regex.Pattern;
  * 4. Abertura, revisão, aprovação e merge de pull requests
  * 
  * Lê o token GITHUB_TOKEN do arquivo .env automaticamente.
+ * Opcionalmente grava os JSONs consolidados em gzip ("arquivo.json.gz"), que o GraphBuilder lê em fluxo.
  */
 public class Mineracao {
 	private static final String BASE_URL = "https://api.github.com";
@@ -36,6 +38,7 @@ public class Mineracao {
 
 	private final HttpClient http;
 	private final String token;
+	private boolean compressOutput;
 
 	public Mineracao(String token) {
 		this.http = HttpClient.newBuilder()
@@ -75,6 +78,14 @@ public class Mineracao {
 		return null;
 	}
 
+	/**
+	 * Comprime cada JSON consolidado em gzip ao concluir a etapa. A mineração continua gravando o arquivo
+	 * sem compressão enquanto ele está em andamento, para que os checkpoints possam retomar com APPEND.
+	 */
+	public void setCompressOutput(boolean compressOutput) {
+		this.compressOutput = compressOutput;
+	}
+
 	public record RepoId(String owner, String name) {
 		public String toPath() { return owner + "/" + name; }
 	}
@@ -100,7 +111,8 @@ public class Mineracao {
 
 		// Passo 1: Minerar comentários em issues
 		Path issueCommentsFile = outDir.resolve("1-comentarios-issues.json");
-		if (Files.exists(issueCommentsFile) && Files.size(issueCommentsFile) > 1000) {
+		if (existsWithSize(issueCommentsFile, 1000)) {
+			issueCommentsFile = GzipFiles.resolve(issueCommentsFile);
 			log("\n[1/4] Comentários em issues → ✓ JÁ EXISTE (%.1f MB), pulando...", 
 				Files.size(issueCommentsFile) / 1024.0 / 1024.0);
 		} else {
@@ -110,11 +122,13 @@ public class Mineracao {
 				issueCommentsFile,
 				"comentários em issues"
 			);
+			issueCommentsFile = finishOutput(issueCommentsFile);
 		}
 
 		// Passo 2: Minerar eventos de issues e filtrar fechamentos
 		Path closedIssuesFile = outDir.resolve("2-fechamentos-issues.json");
-		if (Files.exists(closedIssuesFile) && Files.size(closedIssuesFile) > 100) {
+		if (existsWithSize(closedIssuesFile, 100)) {
+			closedIssuesFile = GzipFiles.resolve(closedIssuesFile);
 			log("\n[2/4] Fechamentos de issues → ✓ JÁ EXISTE (%.1f MB), pulando...", 
 				Files.size(closedIssuesFile) / 1024.0 / 1024.0);
 		} else {
@@ -139,11 +153,13 @@ public class Mineracao {
 				log("  → Arquivo de fechamentos já existe, pulando filtro");
 			}
 			Files.deleteIfExists(issueEventsTemp); // Limpar arquivo temporário
+			closedIssuesFile = finishOutput(closedIssuesFile);
 		}
 
 		// Passo 3: Minerar comentários em pull requests
 		Path prCommentsFile = outDir.resolve("3-comentarios-prs.json");
-		if (Files.exists(prCommentsFile) && Files.size(prCommentsFile) > 1000) {
+		if (existsWithSize(prCommentsFile, 1000)) {
+			prCommentsFile = GzipFiles.resolve(prCommentsFile);
 			log("\n[3/4] Comentários em PRs → ✓ JÁ EXISTE (%.1f MB), pulando...", 
 				Files.size(prCommentsFile) / 1024.0 / 1024.0);
 		} else {
@@ -153,12 +169,14 @@ public class Mineracao {
 				prCommentsFile,
 				"comentários em PRs"
 			);
+			prCommentsFile = finishOutput(prCommentsFile);
 		}
 
 		// Passo 4: Minerar PRs completas (abertura, merge, etc) e suas reviews
 		log("\n[4/4] Minerando INTERAÇÕES EM PULL REQUESTS (abertura, revisão, aprovação, merge)...");
 		Path prInteractionsFile = outDir.resolve("4-interacoes-prs.json");
 		fetchPullRequestsWithReviews(repo, prInteractionsFile);
+		prInteractionsFile = finishOutput(prInteractionsFile);
 
 		log("\n" + "=".repeat(70));
 		log("✓ MINERAÇÃO COMPLETA CONCLUÍDA!");
@@ -175,6 +193,22 @@ public class Mineracao {
 		log("\nDiretório: %s\n", outDir.toAbsolutePath());
 	}
 
+	/** O arquivo (ou sua variante .gz) existe e tem mais que minBytes? */
+	private static boolean existsWithSize(Path file, long minBytes) throws IOException {
+		Path existing = GzipFiles.resolve(file);
+		return Files.exists(existing) && Files.size(existing) > minBytes;
+	}
+
+	/** Com a compressão ligada, troca o JSON consolidado recém-concluído pela versão .gz. */
+	private Path finishOutput(Path file) throws IOException {
+		if (!compressOutput || !Files.exists(file)) return GzipFiles.resolve(file);
+		long before = Files.size(file);
+		Path gz = GzipFiles.compress(file);
+		log("  ✓ Comprimido em %s (%.1f MB → %.1f MB)", gz.getFileName(),
+			before / 1024.0 / 1024.0, Files.size(gz) / 1024.0 / 1024.0);
+		return gz;
+	}
+
 	/**
 	 * Minera TODAS as páginas de um endpoint e consolida diretamente em um único arquivo.
 	 * SALVA INCREMENTALMENTE a cada página e pode RETOMAR de onde parou.
@@ -323,57 +357,60 @@ public class Mineracao {
 	private void filterClosedEvents(Path inputFile, Path outputFile) throws IOException {
 		log("  Filtrando eventos de fechamento...");
 		
-		String content = Files.readString(inputFile, StandardCharsets.UTF_8);
-		List<String> closedEvents = new ArrayList<>();
-		
-		// Procura por objetos JSON que contêm "event":"closed"
-		// Usa uma estratégia mais robusta: encontra objetos completos
-		int depth = 0;
-		int start = -1;
-		boolean inString = false;
-		char prevChar = 0;
-		
-		for (int i = 0; i < content.length(); i++) {
-			char c = content.charAt(i);
-			
-			// Detectar strings (ignorar chaves dentro de strings)
-			if (c == '"' && prevChar != '\\') {
-				inString = !inString;
-			}
-			
-			if (!inString) {
-				if (c == '{') {
-					if (depth == 0) {
-						start = i;
-					}
-					depth++;
-				} else if (c == '}') {
-					depth--;
-					if (depth == 0 && start >= 0) {
-						// Objeto completo encontrado
-						String obj = content.substring(start, i + 1);
-						if (obj.contains("\"event\"") && obj.contains("\"closed\"")) {
-							closedEvents.add(obj);
+		// Leitura em fluxo (aceita .gz): só o objeto atual fica em memória, e os fechamentos
+		// são gravados conforme aparecem
+		int closedCount = 0;
+		try (BufferedReader reader = GzipFiles.newReader(inputFile, 128 * 1024);
+				BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			writer.write('[');
+
+			// Procura por objetos JSON que contêm "event":"closed"
+			// Usa uma estratégia mais robusta: encontra objetos completos
+			StringBuilder obj = new StringBuilder(8192);
+			boolean inObject = false;
+			int depth = 0;
+			boolean inString = false;
+			char prevChar = 0;
+			int ch;
+
+			while ((ch = reader.read()) != -1) {
+				char c = (char) ch;
+
+				// Detectar strings (ignorar chaves dentro de strings)
+				if (c == '"' && prevChar != '\\') {
+					inString = !inString;
+				}
+
+				if (inObject) obj.append(c);
+				if (!inString) {
+					if (c == '{') {
+						if (depth == 0) {
+							inObject = true;
+							obj.setLength(0);
+							obj.append(c);
+						}
+						depth++;
+					} else if (c == '}') {
+						depth--;
+						if (depth == 0 && inObject) {
+							// Objeto completo encontrado
+							if (obj.indexOf("\"event\"") >= 0 && obj.indexOf("\"closed\"") >= 0) {
+								if (closedCount > 0) writer.write(',');
+								writer.append(obj);
+								closedCount++;
+							}
+							inObject = false;
 						}
-						start = -1;
 					}
 				}
+				prevChar = c;
 			}
-			prevChar = c;
-		}
 
-		// Escrever arquivo com fechamentos
-		try (BufferedWriter writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8,
-				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-			writer.write('[');
-			for (int i = 0; i < closedEvents.size(); i++) {
-				if (i > 0) writer.write(',');
-				writer.write(closedEvents.get(i));
-			}
 			writer.write(']');
 		}
 
-		log("  ✓ Encontrados %d eventos de fechamento", closedEvents.size());
+		log("  ✓ Encontrados %d eventos de fechamento", closedCount);
 	}
 
 	/**
@@ -16,7 +16,7 @@ public class ProcessClosureEvents {
 		int totalObjects = 0;
 		StringBuilder outputContent = new StringBuilder();
 		
-		try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+		try (BufferedReader reader = GzipFiles.newReader(GzipFiles.resolve(input), 128 * 1024)) {
 			String line;
 			int lineNum = 0;
 			while ((line = reader.readLine()) != null) {